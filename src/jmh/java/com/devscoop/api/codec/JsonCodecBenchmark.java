@@ -0,0 +1,83 @@
+package com.devscoop.api.codec;
+
+import com.devscoop.api.dto.RawPostDto;
+import com.devscoop.api.dto.RawPostMessage;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 호출마다 new ObjectMapper() vs 공용 JsonCodec(미리 만든 ObjectReader/Writer).
+ * mapper 생성 + 직렬화기 탐색/캐시가 매번 버려지는 비용을 raw-posts 메시지 1건 단위로 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonCodecBenchmark {
+
+    private static final String MESSAGE = """
+            {"source":"hackernews","title":"Spring Boot 3.5 released","url":"https://example.com/p/1",\
+            "createdAt":"2025-06-01T09:30:00","date_kst":"2025-06-01","keywords":["spring","java","boot"]}""";
+
+    private final RawPostDto post = RawPostDto.builder()
+            .source("hackernews")
+            .title("Spring Boot 3.5 released")
+            .url("https://example.com/p/1")
+            .createdAt(LocalDateTime.of(2025, 6, 1, 9, 30))
+            .dateKst("2025-06-01")
+            .keywords(List.of("spring", "java", "boot"))
+            .build();
+
+    private JsonCodec codec;
+    private ObjectMapper sharedMapper;
+
+    @Setup
+    public void setUp() {
+        // Boot ObjectMapper와 같은 구성 (JSR-310 + Blackbird, 날짜는 ISO 문자열)
+        ObjectMapper mapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .addModule(new BlackbirdModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        codec = new JsonCodec(mapper);
+        sharedMapper = mapper;
+    }
+
+    /** 이전 Redis/ES 컨슈머: 공용 mapper로 트리 파싱 후 필드 조회 */
+    @Benchmark
+    public String readTreeSharedMapper() throws Exception {
+        JsonNode node = sharedMapper.readTree(MESSAGE);
+        return node.path("title").asText();
+    }
+
+    @Benchmark
+    public RawPostMessage readPerCallMapper() throws Exception {
+        return new ObjectMapper().readValue(MESSAGE, RawPostMessage.class);
+    }
+
+    @Benchmark
+    public RawPostMessage readCodec() throws Exception {
+        return codec.readRawPost(MESSAGE);
+    }
+
+    /** 이전 생산자/ES 설정: 호출마다 new ObjectMapper() + JavaTimeModule */
+    @Benchmark
+    public String writePerCallMapper() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return mapper.writeValueAsString(post);
+    }
+
+    @Benchmark
+    public String writeCodec() throws Exception {
+        return codec.writeRawPost(post);
+    }
+}
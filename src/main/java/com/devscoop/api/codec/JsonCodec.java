@@ -0,0 +1,58 @@
+package com.devscoop.api.codec;
+
+import com.devscoop.api.dto.RawPostDto;
+import com.devscoop.api.dto.RawPostMessage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 파이프라인 공용 JSON 코덱.
+ * Boot ObjectMapper(JSR-310 + Blackbird) 하나만 쓰고, payload 타입별 ObjectReader/ObjectWriter는
+ * 미리 만들어 재사용한다 (불변·스레드 안전 → 호출마다 mapper/직렬화기 탐색 비용 없음).
+ */
+@Component
+public class JsonCodec {
+
+    private final ObjectMapper mapper;
+    private final ObjectReader treeReader;
+    private final ObjectReader rawPostReader;
+    private final ObjectWriter rawPostWriter;
+    private final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public JsonCodec(ObjectMapper mapper) {
+        this.mapper = mapper;
+        this.treeReader = mapper.reader();
+        this.rawPostReader = mapper.readerFor(RawPostMessage.class);
+        this.rawPostWriter = mapper.writerFor(RawPostDto.class);
+    }
+
+    /** ES JacksonJsonpMapper 등 ObjectMapper 자체가 필요한 곳용 (설정 변경 시 copy() 사용) */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /** 외부 API 응답처럼 형태가 유동적인 JSON */
+    public JsonNode readTree(String json) throws JsonProcessingException {
+        return treeReader.readTree(json);
+    }
+
+    /** raw-posts 토픽 메시지 */
+    public RawPostMessage readRawPost(String json) throws JsonProcessingException {
+        return rawPostReader.readValue(json);
+    }
+
+    public String writeRawPost(RawPostDto post) throws JsonProcessingException {
+        return rawPostWriter.writeValueAsString(post);
+    }
+
+    public <T> T read(String json, Class<T> type) throws JsonProcessingException {
+        return readers.computeIfAbsent(type, mapper::readerFor).readValue(json);
+    }
+}
@@ -0,0 +1,174 @@
+package com.devscoop.api.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import com.devscoop.api.consumer.ElasticSearchPostConsumer;
+import com.devscoop.api.crawler.DevtoCrawler;
+import com.devscoop.api.crawler.HackerNewsCrawler;
+import com.devscoop.api.crawler.RedditCrawler;
+import com.devscoop.api.dto.RawPostDto;
+import com.devscoop.api.reader.WindowedCrawlReader;
+import com.devscoop.api.service.FacetAnalyticsService;
+import com.devscoop.api.service.RawPostIndices;
+import com.devscoop.api.writer.ElasticsearchBulkItemWriter;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 히스토리 백필 잡: HackerNews는 월 단위, Reddit/Dev.to는 소스 단위 파티션
+ */
+@Configuration
+public class BackfillJobConfig {
+
+    public static final String JOB_NAME = "backfillJob";
+    private static final int CHUNK_SIZE = 500;
+
+    @Bean
+    public Job backfillJob(JobRepository jobRepository, Step backfillManagerStep,
+                           FacetAnalyticsService facetAnalyticsService) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .listener(facetAnalyticsService.invalidateAfterJob()) // 과거 날짜 facet 캐시 무효화
+                .start(backfillManagerStep)
+                .build();
+    }
+
+    @Bean
+    public Step backfillManagerStep(JobRepository jobRepository,
+                                    Step backfillWorkerStep,
+                                    Partitioner backfillPartitioner,
+                                    TaskExecutor batchTaskExecutor) {
+        return new StepBuilder("backfillManagerStep", jobRepository)
+                .partitioner("backfillWorkerStep", backfillPartitioner)
+                .step(backfillWorkerStep)
+                .taskExecutor(batchTaskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Step backfillWorkerStep(JobRepository jobRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   WindowedCrawlReader backfillReader,
+                                   ItemProcessor<RawPostDto, RawPostDto> backfillProcessor,
+                                   ElasticsearchBulkItemWriter<RawPostDto> rawPostWriter) {
+        return new StepBuilder("backfillWorkerStep", jobRepository)
+                .<RawPostDto, RawPostDto>chunk(CHUNK_SIZE, transactionManager)
+                .reader(backfillReader)
+                .processor(backfillProcessor)
+                .writer(rawPostWriter)
+                .faultTolerant()
+                .retry(IOException.class)
+                .retryLimit(3)
+                .skip(Exception.class)
+                .skipLimit(100)
+                .build();
+    }
+
+    @Bean
+    @StepScope
+    public Partitioner backfillPartitioner(@Value("#{jobParameters['start']}") String start,
+                                           @Value("#{jobParameters['end']}") String end) {
+        return gridSize -> {
+            Map<String, ExecutionContext> partitions = new HashMap<>();
+            LocalDateTime from = LocalDateTime.parse(start);
+            LocalDateTime to = LocalDateTime.parse(end);
+
+            // HackerNews: 월 단위 시간 슬라이스
+            LocalDateTime cursor = from;
+            while (cursor.isBefore(to)) {
+                LocalDateTime next = cursor.plusMonths(1).isBefore(to) ? cursor.plusMonths(1) : to;
+                partitions.put("hackernews:" + cursor.toLocalDate(), partition("hackernews", cursor, next));
+                cursor = next;
+            }
+            // Reddit/Dev.to: 최신순 페이징 API라 소스 단위
+            partitions.put("reddit", partition("reddit", from, to));
+            partitions.put("devto", partition("devto", from, to));
+            return partitions;
+        };
+    }
+
+    private ExecutionContext partition(String source, LocalDateTime start, LocalDateTime end) {
+        ExecutionContext ctx = new ExecutionContext();
+        ctx.putString("source", source);
+        ctx.putString("start", start.toString());
+        ctx.putString("end", end.toString());
+        return ctx;
+    }
+
+    @Bean
+    @StepScope
+    public WindowedCrawlReader backfillReader(HackerNewsCrawler hackerNewsCrawler,
+                                              RedditCrawler redditCrawler,
+                                              DevtoCrawler devtoCrawler,
+                                              @Value("${batch.backfill.window:P1D}") Duration window,
+                                              @Value("#{stepExecutionContext['source']}") String source,
+                                              @Value("#{stepExecutionContext['start']}") String start,
+                                              @Value("#{stepExecutionContext['end']}") String end) {
+        LocalDateTime from = LocalDateTime.parse(start);
+        LocalDateTime to = LocalDateTime.parse(end);
+
+        // HackerNews는 시간 범위 검색이라 윈도우 단위로 끊어 재시작 비용을 줄이고,
+        // Reddit/Dev.to는 최신순 페이징이라 윈도우를 나누면 매번 처음부터 다시 넘기므로 파티션 전체를 한 윈도우로
+        return switch (source) {
+            case "hackernews" -> new WindowedCrawlReader(hackerNewsCrawler::fetchByDateRange, from, to, window);
+            case "reddit" -> new WindowedCrawlReader(redditCrawler::fetchByDateRange, from, to, Duration.between(from, to));
+            case "devto" -> new WindowedCrawlReader(devtoCrawler::fetchByDateRange, from, to, Duration.between(from, to));
+            default -> throw new IllegalArgumentException("Unknown backfill source: " + source);
+        };
+    }
+
+    @Bean
+    @StepScope
+    public ItemProcessor<RawPostDto, RawPostDto> backfillProcessor(@Value("#{stepExecutionContext['start']}") String start) {
+        LocalDateTime from = LocalDateTime.parse(start);
+        return dto -> {
+            if (dto.createdAt() == null || dto.createdAt().isBefore(from)) return null; // filter
+            return RawPostDto.builder()
+                    .source(dto.source())
+                    .title(dto.title())
+                    .url(dto.url())
+                    .createdAt(dto.createdAt())
+                    .build();
+        };
+    }
+
+    @Bean
+    public ElasticsearchBulkItemWriter<RawPostDto> rawPostWriter(ElasticsearchClient esClient) {
+        return new ElasticsearchBulkItemWriter<>(esClient, post -> BulkOperation.of(o -> o.index(i -> {
+            // 라이브 컨슈머와 같은 문서 id → 같은 글이 백필/재수집돼도 한 문서
+            return i.index(RawPostIndices.WRITE_ALIAS)
+                    .id(ElasticSearchPostConsumer.buildDocId(post.source(), post.url(), post.title()))
+                    .document(toDocument(post));
+        })));
+    }
+
+    /** 컨슈머와 같은 문서 형태 (createdAt은 epoch millis) → 월별 라우팅/명시 매핑과 호환 */
+    private static Map<String, Object> toDocument(RawPostDto post) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("source", post.source());
+        doc.put("title", post.title());
+        doc.put("url", post.url());
+        if (post.createdAt() != null) doc.put("createdAt", post.createdAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+        if (post.dateKst() != null) doc.put("date_kst", post.dateKst());
+        if (post.keywords() != null && !post.keywords().isEmpty()) doc.put("keywords", post.keywords());
+        return doc;
+    }
+}
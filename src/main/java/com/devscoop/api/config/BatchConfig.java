@@ -0,0 +1,57 @@
+package com.devscoop.api.config;
+
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.datasource.init.DataSourceInitializer;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class BatchConfig {
+
+    /**
+     * @EnableBatchProcessing 사용 시 Boot가 메타 테이블을 만들지 않으므로 H2 스키마 직접 초기화
+     */
+    @Bean
+    public DataSourceInitializer batchSchemaInitializer(DataSource dataSource) {
+        ResourceDatabasePopulator populator = new ResourceDatabasePopulator(
+                new ClassPathResource("org/springframework/batch/core/schema-h2.sql"));
+        populator.setContinueOnError(true); // 이미 존재하면 무시
+
+        DataSourceInitializer initializer = new DataSourceInitializer();
+        initializer.setDataSource(dataSource);
+        initializer.setDatabasePopulator(populator);
+        return initializer;
+    }
+
+    /** 파티션 워커 실행용 풀 */
+    @Bean
+    public TaskExecutor batchTaskExecutor(@Value("${batch.partition.concurrency:4}") int concurrency) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(concurrency);
+        executor.setMaxPoolSize(concurrency);
+        executor.setThreadNamePrefix("batch-partition-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /** HTTP 요청을 막지 않도록 잡을 비동기로 실행하는 런처 */
+    @Bean
+    public JobLauncher asyncJobLauncher(JobRepository jobRepository) throws Exception {
+        TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+        launcher.setJobRepository(jobRepository);
+        launcher.setTaskExecutor(new SimpleAsyncTaskExecutor("batch-job-"));
+        launcher.afterPropertiesSet();
+        return launcher;
+    }
+}
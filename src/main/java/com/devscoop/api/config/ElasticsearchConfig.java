@@ -3,15 +3,18 @@ package com.devscoop.api.config;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.json.jackson.JacksonJsonpMapper;
 import co.elastic.clients.transport.rest_client.RestClientTransport;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.devscoop.api.codec.JsonCodec;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.apache.http.HttpHost;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
 import org.elasticsearch.client.RestClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 
+import java.time.Duration;
+
 @Configuration
 @Profile("!test")
 public class ElasticsearchConfig {
@@ -22,20 +25,66 @@ public class ElasticsearchConfig {
     @Value("${ELASTICSEARCH_PORT}")
     private int port;
 
-    @Bean
-    public ElasticsearchClient elasticsearchClient() {
-        // ES 클라이언트 생성
-        RestClient restClient = RestClient.builder(
-                new HttpHost(host, port)).build();
+    // 커넥션 풀 (기본값 10/30은 bulk + 검색 동시 부하에서 대기 발생)
+    @Value("${elasticsearch.pool.max-total:100}")
+    private int maxConnTotal;
+
+    @Value("${elasticsearch.pool.max-per-route:50}")
+    private int maxConnPerRoute;
+
+    @Value("${elasticsearch.pool.keep-alive:PT1M}")
+    private Duration keepAlive;
+
+    @Value("${elasticsearch.io-threads:0}")
+    private int ioThreads;
+
+    @Value("${elasticsearch.timeout.connect:PT2S}")
+    private Duration connectTimeout;
 
-        // JavaTimeModule 등록
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.registerModule(new JavaTimeModule());
+    @Value("${elasticsearch.timeout.socket:PT30S}")
+    private Duration socketTimeout;
+
+    @Value("${elasticsearch.timeout.connection-request:PT1S}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${elasticsearch.compression:true}")
+    private boolean compression;
+
+    @Bean(destroyMethod = "close")
+    public RestClient elasticsearchRestClient() {
+        return RestClient.builder(new HttpHost(host, port))
+                // 요청 본문 gzip + Accept-Encoding: gzip (bulk/대량 응답 전송량 감소)
+                .setCompressionEnabled(compression)
+                .setRequestConfigCallback(rc -> rc
+                        .setConnectTimeout((int) connectTimeout.toMillis())
+                        .setSocketTimeout((int) socketTimeout.toMillis())
+                        .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis()))
+                .setHttpClientConfigCallback(hc -> {
+                    hc.setMaxConnTotal(maxConnTotal)
+                            .setMaxConnPerRoute(maxConnPerRoute)
+                            // 서버/LB의 idle 종료보다 먼저 재사용을 끊어 stale connection 방지
+                            .setKeepAliveStrategy((response, context) -> keepAlive.toMillis());
+                    if (ioThreads > 0) {
+                        hc.setDefaultIOReactorConfig(IOReactorConfig.custom()
+                                .setIoThreadCount(ioThreads)
+                                .build());
+                    }
+                    return hc;
+                })
+                .build();
+    }
+
+    @Bean
+    public ElasticsearchClient elasticsearchClient(RestClient elasticsearchRestClient,
+                                                   MeterRegistry meterRegistry,
+                                                   JsonCodec jsonCodec) {
+        // 공용 mapper(JSR-310 + Blackbird) 설정을 그대로 쓰되, JacksonJsonpMapper가 NON_NULL 등으로
+        // mapper를 변경하므로 웹 응답 직렬화에 영향 없게 복사본 사용
+        JacksonJsonpMapper mapper = new JacksonJsonpMapper(jsonCodec.mapper().copy());
 
-        // JSON Mapper + Transport 설정
-        JacksonJsonpMapper mapper = new JacksonJsonpMapper(objectMapper);
-        RestClientTransport transport = new RestClientTransport(restClient, mapper);
+        // Transport 설정 (endpoint별 지연/in-flight 계측)
+        RestClientTransport transport = new RestClientTransport(elasticsearchRestClient, mapper);
 
-        return new ElasticsearchClient(transport);
+        return new ElasticsearchClient(new InstrumentedElasticsearchTransport(transport, meterRegistry));
     }
 }
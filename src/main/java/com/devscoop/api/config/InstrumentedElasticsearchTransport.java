@@ -0,0 +1,100 @@
+package com.devscoop.api.config;
+
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.transport.ElasticsearchTransport;
+import co.elastic.clients.transport.Endpoint;
+import co.elastic.clients.transport.TransportOptions;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ES 요청을 endpoint(search, bulk, open_point_in_time ...)별로 계측하는 transport 래퍼.
+ * - es.client.requests: 지연 히스토그램 (endpoint, outcome 태그)
+ * - es.client.inflight: 진행 중 요청 수
+ */
+final class InstrumentedElasticsearchTransport implements ElasticsearchTransport {
+
+    private final ElasticsearchTransport delegate;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AtomicInteger> inflight = new ConcurrentHashMap<>();
+
+    InstrumentedElasticsearchTransport(ElasticsearchTransport delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> ResponseT performRequest(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) throws IOException {
+        String id = endpoint.id();
+        AtomicInteger active = inflight(id);
+        active.incrementAndGet();
+        long start = System.nanoTime();
+        String outcome = "error";
+        try {
+            ResponseT response = delegate.performRequest(request, endpoint, options);
+            outcome = "success";
+            return response;
+        } finally {
+            active.decrementAndGet();
+            timer(id, outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public <RequestT, ResponseT, ErrorT> CompletableFuture<ResponseT> performRequestAsync(
+            RequestT request, Endpoint<RequestT, ResponseT, ErrorT> endpoint, TransportOptions options) {
+        String id = endpoint.id();
+        AtomicInteger active = inflight(id);
+        active.incrementAndGet();
+        long start = System.nanoTime();
+        return delegate.performRequestAsync(request, endpoint, options)
+                .whenComplete((response, error) -> {
+                    active.decrementAndGet();
+                    timer(id, error == null ? "success" : "error")
+                            .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                });
+    }
+
+    @Override
+    public JsonpMapper jsonpMapper() {
+        return delegate.jsonpMapper();
+    }
+
+    @Override
+    public TransportOptions options() {
+        return delegate.options();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+
+    private AtomicInteger inflight(String endpoint) {
+        return inflight.computeIfAbsent(endpoint, id -> {
+            AtomicInteger counter = new AtomicInteger();
+            Gauge.builder("es.client.inflight", counter, AtomicInteger::get)
+                    .tag("endpoint", id)
+                    .register(meterRegistry);
+            return counter;
+        });
+    }
+
+    private Timer timer(String endpoint, String outcome) {
+        // MeterRegistry가 (이름, 태그)로 캐싱하므로 매 호출 builder 비용만 발생
+        return Timer.builder("es.client.requests")
+                .tag("endpoint", endpoint)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,17 @@
+package com.devscoop.api.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    // Module 빈은 Boot ObjectMapper에 자동 등록 (JSR-310은 Boot가 기본 등록)
+    // Blackbird: getter/setter/생성자 호출을 리플렉션 대신 LambdaMetafactory로 생성
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
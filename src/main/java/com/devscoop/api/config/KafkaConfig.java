@@ -0,0 +1,32 @@
+package com.devscoop.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.time.Duration;
+
+@Configuration
+public class KafkaConfig {
+
+    /**
+     * 노드 로컬 상태 재생용 리스너 (group.id 없이 수동 할당).
+     * 오프셋은 매 기동 시 seek로 정하므로 커밋하지 않음: ack를 호출하지 않는 MANUAL + 할당 시 초기 커밋 없음.
+     * idle 이벤트로 재생 완료(따라잡음)를 감지.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> recentPostListenerFactory(
+            ConsumerFactory<Object, Object> consumerFactory,
+            @Value("${search.recent.stream-idle-interval:PT5S}") Duration idleInterval) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(consumerFactory);
+        ContainerProperties props = factory.getContainerProperties();
+        props.setAckMode(ContainerProperties.AckMode.MANUAL);
+        props.setAssignmentCommitOption(ContainerProperties.AssignmentCommitOption.NEVER);
+        props.setIdleEventInterval(idleInterval.toMillis());
+        return factory;
+    }
+}
@@ -0,0 +1,138 @@
+package com.devscoop.api.config;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.devscoop.api.reader.RawPostRangeReader;
+import com.devscoop.api.service.FacetAnalyticsService;
+import com.devscoop.api.service.KeywordExtractService;
+import com.devscoop.api.service.RawPostIndices;
+import com.devscoop.api.writer.ElasticsearchBulkItemWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * raw-posts 전체 키워드 재추출 잡: createdAt 범위를 gridSize개 시간 슬라이스로 나눠 병렬 처리
+ */
+@Slf4j
+@Configuration
+public class KeywordExtractJobConfig {
+
+    public static final String JOB_NAME = "keywordExtractJob";
+    private static final int CHUNK_SIZE = 100;
+    private static final int PAGE_SIZE = 500;
+
+    @Bean
+    public Job keywordExtractJob(JobRepository jobRepository, Step keywordExtractManagerStep,
+                                 FacetAnalyticsService facetAnalyticsService) {
+        return new JobBuilder(JOB_NAME, jobRepository)
+                .listener(facetAnalyticsService.invalidateAfterJob()) // 키워드 facet 캐시 무효화
+                .start(keywordExtractManagerStep)
+                .build();
+    }
+
+    @Bean
+    public Step keywordExtractManagerStep(JobRepository jobRepository,
+                                          Step keywordExtractWorkerStep,
+                                          Partitioner keywordExtractPartitioner,
+                                          TaskExecutor batchTaskExecutor,
+                                          @Value("${batch.keywords.partitions:8}") int partitions) {
+        return new StepBuilder("keywordExtractManagerStep", jobRepository)
+                .partitioner("keywordExtractWorkerStep", keywordExtractPartitioner)
+                .step(keywordExtractWorkerStep)
+                .gridSize(partitions)
+                .taskExecutor(batchTaskExecutor)
+                .build();
+    }
+
+    @Bean
+    public Step keywordExtractWorkerStep(JobRepository jobRepository,
+                                         PlatformTransactionManager transactionManager,
+                                         RawPostRangeReader rawPostRangeReader,
+                                         ItemProcessor<Map<String, Object>, Map<String, Object>> keywordExtractProcessor,
+                                         ElasticsearchBulkItemWriter<Map<String, Object>> keywordStatsWriter) {
+        return new StepBuilder("keywordExtractWorkerStep", jobRepository)
+                .<Map<String, Object>, Map<String, Object>>chunk(CHUNK_SIZE, transactionManager)
+                .reader(rawPostRangeReader)
+                .processor(keywordExtractProcessor)
+                .writer(keywordStatsWriter)
+                .faultTolerant()
+                .retry(IOException.class)
+                .retryLimit(3)
+                .skip(Exception.class)
+                .skipLimit(1000)
+                .build();
+    }
+
+    /**
+     * raw-posts의 createdAt min/max를 구해 [min, max] 구간을 균등 분할
+     */
+    @Bean
+    public Partitioner keywordExtractPartitioner(ElasticsearchClient esClient) {
+        return gridSize -> {
+            Map<String, ExecutionContext> partitions = new HashMap<>();
+            try {
+                SearchResponse<Void> res = esClient.search(s -> s
+                        .index(RawPostIndices.READ_ALIAS)
+                        .size(0)
+                        .aggregations("minCreatedAt", a -> a.min(m -> m.field("createdAt")))
+                        .aggregations("maxCreatedAt", a -> a.max(m -> m.field("createdAt"))), Void.class);
+
+                double min = res.aggregations().get("minCreatedAt").min().value();
+                double max = res.aggregations().get("maxCreatedAt").max().value();
+                if (Double.isNaN(min) || Double.isNaN(max) || Double.isInfinite(min) || Double.isInfinite(max)) {
+                    return partitions; // 빈 인덱스
+                }
+
+                long from = (long) min;
+                long to = (long) max + 1;
+                long span = Math.max(1, (to - from + gridSize - 1) / gridSize);
+                for (int i = 0; i < gridSize && from + i * span < to; i++) {
+                    ExecutionContext ctx = new ExecutionContext();
+                    ctx.putLong("from", from + i * span);
+                    ctx.putLong("to", Math.min(to, from + (i + 1) * span));
+                    partitions.put("slice" + i, ctx);
+                }
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to resolve createdAt range of raw-posts", e);
+            }
+            log.info("keywordExtractJob partitions={}", partitions.size());
+            return partitions;
+        };
+    }
+
+    @Bean
+    @StepScope
+    public RawPostRangeReader rawPostRangeReader(ElasticsearchClient esClient,
+                                                 @Value("#{stepExecutionContext['from']}") Long from,
+                                                 @Value("#{stepExecutionContext['to']}") Long to) {
+        return new RawPostRangeReader(esClient, from, to, PAGE_SIZE);
+    }
+
+    @Bean
+    public ItemProcessor<Map<String, Object>, Map<String, Object>> keywordExtractProcessor(KeywordExtractService keywordExtractService) {
+        return keywordExtractService::toKeywordDoc; // 키워드 없으면 null → filter
+    }
+
+    @Bean
+    public ElasticsearchBulkItemWriter<Map<String, Object>> keywordStatsWriter(ElasticsearchClient esClient,
+                                                                              KeywordExtractService keywordExtractService) {
+        return new ElasticsearchBulkItemWriter<>(esClient, keywordExtractService::toBulkOperation);
+    }
+}
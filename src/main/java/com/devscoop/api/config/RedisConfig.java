@@ -1,13 +1,24 @@
 package com.devscoop.api.config;
 
+import com.devscoop.api.listener.FacetCacheInvalidationListener;
+import com.devscoop.api.listener.KeywordStatsInvalidationListener;
+import com.devscoop.api.listener.RedisKeyExpirationListener;
+import com.devscoop.api.listener.SearchCacheInvalidationListener;
+import com.devscoop.api.service.ArticleSearchService;
+import com.devscoop.api.service.FacetAnalyticsService;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.util.List;
+
 @Configuration
 public class RedisConfig {
 
@@ -25,6 +36,35 @@ public class RedisConfig {
         template.setConnectionFactory(connectionFactory);
         template.setKeySerializer(new StringRedisSerializer());
         template.setValueSerializer(new StringRedisSerializer());
+        template.setHashKeySerializer(new StringRedisSerializer());
+        template.setHashValueSerializer(new StringRedisSerializer());
         return template;
     }
+
+    /**
+     * keyevent 알림 구독 (notify-keyspace-events에 E, x(만료), g(del), h(hset/hdel) 필요 → RedisKeyspaceEventsConfigurer)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory,
+            KeywordStatsInvalidationListener statsInvalidationListener,
+            RedisKeyExpirationListener expirationListener,
+            SearchCacheInvalidationListener searchCacheInvalidationListener,
+            FacetCacheInvalidationListener facetCacheInvalidationListener
+    ) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(statsInvalidationListener, List.of(
+                new PatternTopic("__keyevent@*__:expired"),
+                new PatternTopic("__keyevent@*__:del"),
+                new PatternTopic("__keyevent@*__:hset"),  // 캐시 write-back (HSET/HMSET)
+                new PatternTopic("__keyevent@*__:hdel")   // compact 만료 필드 정리
+        ));
+        container.addMessageListener(expirationListener, new PatternTopic("__keyevent@*__:expired"));
+        container.addMessageListener(searchCacheInvalidationListener,
+                new ChannelTopic(ArticleSearchService.INVALIDATE_CHANNEL));
+        container.addMessageListener(facetCacheInvalidationListener,
+                new ChannelTopic(FacetAnalyticsService.INVALIDATE_CHANNEL));
+        return container;
+    }
 }
@@ -0,0 +1,58 @@
+package com.devscoop.api.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.stereotype.Component;
+
+import java.util.Properties;
+
+/**
+ * near-cache 무효화/재계산 리스너가 구독하는 keyevent 알림을 기동 시 활성화.
+ * 필요한 플래그: E(keyevent), g(del), x(expired), h(hset/hdel). 기존 플래그는 유지하고 부족한 것만 추가한다.
+ * 관리형 Redis처럼 CONFIG가 막힌 환경에서는 경고만 남긴다 → 이 경우 notify-keyspace-events에
+ * 위 플래그를 넣는 것이 배포 요건 (docker-compose.yml 참고).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisKeyspaceEventsConfigurer {
+
+    static final String PARAM = "notify-keyspace-events";
+    static final String REQUIRED_FLAGS = "Egxh";
+
+    private final RedisConnectionFactory connectionFactory;
+
+    @Value("${redis.keyspace-events.auto-configure:true}")
+    private boolean autoConfigure;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void configure() {
+        if (!autoConfigure) return;
+        try (RedisConnection conn = connectionFactory.getConnection()) {
+            Properties props = conn.serverCommands().getConfig(PARAM);
+            String current = props == null ? "" : props.getProperty(PARAM, "");
+            String merged = merge(current, REQUIRED_FLAGS);
+            if (merged.equals(current)) return;
+            conn.serverCommands().setConfig(PARAM, merged);
+            log.info("[Redis] {} '{}' -> '{}'", PARAM, current, merged);
+        } catch (Exception e) {
+            log.warn("[Redis] could not enable {} {} — set it on the server, or near-cache invalidation is disabled",
+                    PARAM, REQUIRED_FLAGS, e);
+        }
+    }
+
+    /** A는 g$lshzxetd의 별칭이라 g/x/h를 이미 포함 */
+    static String merge(String current, String required) {
+        StringBuilder out = new StringBuilder(current);
+        for (char c : required.toCharArray()) {
+            boolean covered = current.indexOf(c) >= 0 || (c != 'E' && c != 'K' && current.indexOf('A') >= 0);
+            if (!covered) out.append(c);
+        }
+        return out.toString();
+    }
+}
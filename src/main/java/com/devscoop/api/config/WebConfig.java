@@ -1,16 +1,39 @@
 package com.devscoop.api.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 @Configuration
 public class WebConfig {
 
+    @Value("${api.async.timeout:PT10S}") // 개별 deadline을 넘긴 요청의 최종 안전망
+    private Duration asyncTimeout;
+
+    /**
+     * API 작업 실행기: 요청당 가상 스레드. 컨트롤러가 CompletableFuture를 반환하면
+     * Tomcat 스레드는 즉시 반납되고, ES/Redis 블로킹 호출은 가상 스레드만 park 한다.
+     */
+    @Bean(name = "apiExecutor", destroyMethod = "close")
+    public ExecutorService apiExecutor() {
+        return Executors.newVirtualThreadPerTaskExecutor();
+    }
+
     @Bean
     public WebMvcConfigurer corsConfigurer() {
         return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.setDefaultTimeout(asyncTimeout.toMillis());
+            }
+
             @Override
             public void addCorsMappings(CorsRegistry registry) {
                 registry.addMapping("/**") // 모든 API 경로에 대해
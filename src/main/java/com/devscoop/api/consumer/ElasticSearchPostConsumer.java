@@ -3,7 +3,11 @@ package com.devscoop.api.consumer;
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.IndexRequest;
 import co.elastic.clients.json.JsonData;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.devscoop.api.codec.JsonCodec;
+import com.devscoop.api.dto.RawPostMessage;
+import com.devscoop.api.service.ArticleSearchService;
+import com.devscoop.api.service.RawPostIndices;
+import com.fasterxml.jackson.databind.JsonNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -11,45 +15,50 @@ import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ElasticSearchPostConsumer {
 
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
     private final ElasticsearchClient esClient;
+    private final ArticleSearchService articleSearchService;
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
 
-    @KafkaListener(topics = "raw-posts", groupId = "raw-posts-es")
+    public static final String LISTENER_ID = "raw-posts-es";
+
+    // 인덱스 bootstrap(파이프라인/템플릿/쓰기 alias) 완료 후 RawPostIndexService가 시작
+    @KafkaListener(id = LISTENER_ID, topics = "raw-posts", groupId = "raw-posts-es", autoStartup = "false")
     public void consume(ConsumerRecord<String, String> record) {
         try {
-            var node = objectMapper.readTree(record.value());
+            RawPostMessage msg = jsonCodec.readRawPost(record.value());
 
-            String url    = node.path("url").asText("");
-            String title  = node.path("title").asText("");
-            String source = node.path("source").asText("");
+            String url    = Objects.toString(msg.url(), "");
+            String title  = Objects.toString(msg.title(), "");
+            String source = Objects.toString(msg.source(), "");
 
             if (title.isEmpty() || source.isEmpty()) {
                 log.warn("[ES] skip: missing required fields source/title. raw={}", record.value());
                 return;
             }
 
-            long createdAtMillis = extractCreatedAtMillis(node);
-            String dateKst = node.has("date_kst")
-                    ? node.path("date_kst").asText()
+            long createdAtMillis = extractCreatedAtMillis(msg);
+            String dateKst = msg.dateKst() != null
+                    ? msg.dateKst()
                     : LocalDate.now(KST).toString();
 
-            List<String> keywords = node.has("keywords") && node.get("keywords").isArray()
-                    ? objectMapper.convertValue(node.get("keywords"),
-                    new com.fasterxml.jackson.core.type.TypeReference<List<String>>() {})
-                    : List.of();
+            List<String> keywords = msg.keywordsOrEmpty();
 
             Map<String, Object> document = new HashMap<>();
             document.put("title", title);
@@ -62,12 +71,13 @@ public class ElasticSearchPostConsumer {
             String docId = buildDocId(source, url, title); // 안정적/짧은 ID
 
             var request = IndexRequest.of(i -> i
-                    .index("raw-posts")
+                    .index(RawPostIndices.WRITE_ALIAS) // 파이프라인이 createdAt 월 인덱스로 라우팅
                     .id(docId)
                     .document(document)
             );
 
             esClient.index(request); // 1) 먼저 인덱싱
+            articleSearchService.markIndexed(source); // 검색 캐시 무효화 예약
             if (!keywords.isEmpty()) {
                 updateKeywordStats(keywords, source); // 2) 그 다음 통계
             }
@@ -80,39 +90,52 @@ public class ElasticSearchPostConsumer {
         }
     }
 
-    private long extractCreatedAtMillis(com.fasterxml.jackson.databind.JsonNode node) {
-        if (node.has("time") && node.get("time").canConvertToLong()) {
-            return node.get("time").asLong() * 1000L; // HN epoch sec
+    /**
+     * 글 작성 시각 → 월 인덱스 라우팅 키이므로 같은 글은 항상 같은 값이어야 한다.
+     * RawPostDto.createdAt은 zone 없는 LocalDateTime(크롤러가 UTC로 생성)으로 직렬화되므로 UTC로 해석
+     * (RedisPostConsumer와 동일). 어떤 시각도 없을 때만 수집 시각.
+     */
+    static long extractCreatedAtMillis(RawPostMessage msg) {
+        JsonNode time = msg.time();
+        if (time != null && time.canConvertToLong()) {
+            return time.asLong() * 1000L; // HN epoch sec
         }
-        if (node.has("createdAt")) {
-            var c = node.get("createdAt");
+        JsonNode c = msg.createdAt();
+        if (c != null) {
             if (c.canConvertToLong()) return c.asLong(); // epoch_millis
             if (c.isTextual()) {
-                String s = c.asText();
-                try { return Instant.parse(s).toEpochMilli(); } catch (Exception ignore) {}
+                Long millis = parseMillis(c.asText());
+                if (millis != null) return millis;
             }
         }
-        for (String f : new String[]{"postedAt","publishedAt"}) {
-            if (node.has(f) && node.get(f).isTextual()) {
-                try { return Instant.parse(node.get(f).asText()).toEpochMilli(); } catch (Exception ignore) {}
-            }
+        for (String f : new String[]{msg.postedAt(), msg.publishedAt()}) {
+            Long millis = parseMillis(f);
+            if (millis != null) return millis;
         }
         return Instant.now().toEpochMilli();
     }
 
-    private String buildDocId(String source, String url, String title) {
+    private static Long parseMillis(String s) {
+        if (s == null || s.isBlank()) return null;
+        try { return Instant.parse(s).toEpochMilli(); } catch (Exception ignore) {}
+        try { return OffsetDateTime.parse(s).toInstant().toEpochMilli(); } catch (Exception ignore) {}
+        try { return LocalDateTime.parse(s).toInstant(ZoneOffset.UTC).toEpochMilli(); } catch (Exception ignore) {}
+        return null;
+    }
+
+    public static String buildDocId(String source, String url, String title) {
         String basis = (url != null && !url.isBlank()) ? normalize(url) : (source + "|" + title);
         return sha256Hex(basis).substring(0, 32); // 32자 고정 (충분히 유니크)
     }
 
-    private String normalize(String s) {
+    private static String normalize(String s) {
         String t = s == null ? "" : s.trim();
         int i = t.indexOf('?'); if (i > 0) t = t.substring(0, i);
         if (t.endsWith("/")) t = t.substring(0, t.length()-1);
         return t;
     }
 
-    private String sha256Hex(String s) {
+    private static String sha256Hex(String s) {
         try {
             var md = java.security.MessageDigest.getInstance("SHA-256");
             byte[] h = md.digest(s.getBytes(java.nio.charset.StandardCharsets.UTF_8));
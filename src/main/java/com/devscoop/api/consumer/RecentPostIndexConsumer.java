@@ -0,0 +1,92 @@
+package com.devscoop.api.consumer;
+
+import com.devscoop.api.codec.JsonCodec;
+import com.devscoop.api.dto.ArticleHit;
+import com.devscoop.api.dto.RawPostMessage;
+import com.devscoop.api.service.RecentPostIndexService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.OptionalLong;
+
+/**
+ * raw-posts → 로컬 최근 글 역색인. 노드마다 전체 스트림이 필요하므로 consumer group 없이 전 파티션 수동 할당,
+ * 오프셋 커밋 없음(recentPostListenerFactory). 할당 시 윈도우 시작 시각으로 seek해 ES 부트스트랩과의 공백을 메우고,
+ * 재생분을 따라잡으면(lag 0 또는 idle) 서비스에 알린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RecentPostIndexConsumer implements ConsumerSeekAware {
+
+    static final String LISTENER_ID = "raw-posts-recent";
+
+    private final JsonCodec jsonCodec;
+    private final RecentPostIndexService recentPostIndexService;
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        long windowStart = recentPostIndexService.windowStartMillis();
+        // 해당 시각 이후 레코드가 없는 파티션은 끝으로 이동
+        callback.seekToTimestamp(assignments.keySet(), windowStart);
+        log.info("[RecentIndex] replaying {} partitions from {}", assignments.size(), windowStart);
+    }
+
+    @KafkaListener(id = LISTENER_ID,
+            idIsGroup = false,
+            containerFactory = "recentPostListenerFactory",
+            topicPartitions = @org.springframework.kafka.annotation.TopicPartition(topic = "raw-posts", partitions = "*"))
+    public void consume(ConsumerRecord<String, String> record, Consumer<?, ?> consumer) {
+        try {
+            RawPostMessage msg = jsonCodec.readRawPost(record.value());
+
+            String url    = Objects.toString(msg.url(), "");
+            String title  = Objects.toString(msg.title(), "");
+            String source = Objects.toString(msg.source(), "");
+            if (!source.isBlank() && !title.isBlank()) {
+                // ES 문서와 같은 id/createdAt 규칙 → 부트스트랩분과 중복 제거
+                recentPostIndexService.index(ArticleHit.builder()
+                        .id(ElasticSearchPostConsumer.buildDocId(source, url, title))
+                        .source(source)
+                        .title(title)
+                        .url(url)
+                        .createdAt(ElasticSearchPostConsumer.extractCreatedAtMillis(msg))
+                        .dateKst(msg.dateKst())
+                        .keywords(msg.keywordsOrEmpty())
+                        .build());
+            }
+        } catch (Exception e) {
+            log.warn("[RecentIndex] failed to index raw-post", e);
+        }
+        if (!recentPostIndexService.streamCaughtUp() && caughtUp(consumer)) {
+            recentPostIndexService.markStreamCaughtUp();
+        }
+    }
+
+    /** 재생 중 레코드가 끊기면(poll 결과 없음) 끝까지 따라잡은 것 */
+    @EventListener(condition = "event.listenerId.startsWith('" + LISTENER_ID + "')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (!recentPostIndexService.streamCaughtUp()) {
+            recentPostIndexService.markStreamCaughtUp();
+        }
+    }
+
+    /** 마지막 fetch 기준 모든 할당 파티션의 lag이 0인지 (브로커 왕복 없음) */
+    private boolean caughtUp(Consumer<?, ?> consumer) {
+        for (TopicPartition tp : consumer.assignment()) {
+            OptionalLong lag = consumer.currentLag(tp);
+            if (lag.isEmpty() || lag.getAsLong() > 0) return false;
+        }
+        return true;
+    }
+}
@@ -1,16 +1,23 @@
 package com.devscoop.api.consumer;
 
+import com.devscoop.api.codec.JsonCodec;
+import com.devscoop.api.dto.RawPostMessage;
+import com.devscoop.api.service.HeavyHittersService;
+import com.devscoop.api.service.RankingSnapshotService;
+import com.devscoop.api.service.RankingWindow;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 
 import java.time.*;
-import java.util.Date;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 @Slf4j
@@ -19,31 +26,34 @@ import java.util.List;
 public class RedisPostConsumer {
 
     private final StringRedisTemplate redisTemplate;
-    private final ObjectMapper objectMapper;
+    private final JsonCodec jsonCodec;
+    private final HeavyHittersService heavyHittersService;
 
     private static final String KEYWORD_PREFIX = "keyword_count:";
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final Duration HOUR_RETENTION = Duration.ofHours(49);
+
+    // 30d 롤업의 직전 구간(30~59일 전)까지 필요
+    @Value("${ranking.daily-retention-days:61}")
+    private int dailyRetentionDays;
 
     @KafkaListener(topics = "raw-posts", groupId = "raw-posts-redis")
     public void consume(ConsumerRecord<String, String> record) {
         try {
-            JsonNode node = objectMapper.readTree(record.value());
+            RawPostMessage msg = jsonCodec.readRawPost(record.value());
 
             // 0) 필드 추출 & 정규화
-            String rawSource = textOrEmpty(node, "source");
+            String rawSource = msg.source();
             String site = normalizeSource(rawSource); // 소문자 + alias 통일
-            String title = textOrEmpty(node, "title");
+            String title = msg.title() == null ? "" : msg.title();
 
-            // 1) 버킷 날짜 확정 (KST, yyyy-MM-dd)
-            String date = resolveDateBucketKst(node); // createdAt/time/date_kst/now 순
+            // 1) 버킷 날짜/시간 확정 (KST, yyyy-MM-dd / yyyy-MM-dd'T'HH)
+            ZonedDateTime createdAt = resolveCreatedAtKst(msg);
+            String date = resolveDateBucketKst(msg, createdAt); // createdAt/time/date_kst/now 순
+            ZonedDateTime hour = (createdAt != null ? createdAt : ZonedDateTime.now(KST)).truncatedTo(ChronoUnit.HOURS);
 
             // 2) 키워드 추출/정규화
-            List<String> keywords = node.has("keywords")
-                    ? objectMapper.convertValue(
-                    node.get("keywords"),
-                    new com.fasterxml.jackson.core.type.TypeReference<List<String>>() {})
-                    : List.of();
-            keywords = keywords.stream()
+            List<String> keywords = msg.keywordsOrEmpty().stream()
                     .map(s -> s == null ? "" : s.trim().toLowerCase())
                     .filter(s -> !s.isEmpty())
                     .toList();
@@ -53,21 +63,41 @@ public class RedisPostConsumer {
                 return;
             }
 
-            // 3) 집계 키 (사이트별 / 전체)
+            // 3) 집계 키 (사이트별 / 전체) × (일 / 시간)
             String redisKey = KEYWORD_PREFIX + site + ":" + date; // ex) keyword_count:hackernews:2025-08-09
             String allKey   = KEYWORD_PREFIX + "all:" + date;
-
-            for (String k : keywords) {
-                redisTemplate.opsForZSet().incrementScore(redisKey, k, 1);
-                redisTemplate.opsForZSet().incrementScore(allKey,  k, 1);
-            }
-
-            // 4) TTL: date(버킷)의 자정 기준 D+3 00:00 KST, 실패 시 2일
-            if (!setExpireAtByDate(redisKey, date) | !setExpireAtByDate(allKey, date)) {
-                // date 파싱 실패 등일 때 폴백
-                redisTemplate.expire(redisKey, Duration.ofDays(2));
-                redisTemplate.expire(allKey,  Duration.ofDays(2));
-            }
+            String hourKey    = RankingWindow.hourKey(site, hour);   // ex) keyword_count:hackernews:2025-08-09T13
+            String allHourKey = RankingWindow.hourKey("all", hour);
+
+            // 4) TTL: 일별은 date(버킷) 자정 기준 D+retention 00:00 KST, 시간별은 버킷 시작 +49h
+            Long dayExpireAt = expireAtByDate(date);
+            long hourExpireAt = hour.plus(HOUR_RETENTION).toEpochSecond();
+
+            final List<String> counted = keywords;
+            redisTemplate.executePipelined((RedisCallback<Object>) conn -> {
+                StringRedisConnection sc = (StringRedisConnection) conn;
+                for (String k : counted) {
+                    sc.zIncrBy(redisKey, 1, k);
+                    sc.zIncrBy(allKey, 1, k);
+                    sc.zIncrBy(hourKey, 1, k);
+                    sc.zIncrBy(allHourKey, 1, k);
+                }
+                if (dayExpireAt != null) {
+                    sc.expireAt(redisKey, dayExpireAt);
+                    sc.expireAt(allKey, dayExpireAt);
+                } else {
+                    // date 파싱 실패 등일 때 폴백
+                    sc.expire(redisKey, Duration.ofDays(2).toSeconds());
+                    sc.expire(allKey, Duration.ofDays(2).toSeconds());
+                }
+                sc.expireAt(hourKey, hourExpireAt);
+                sc.expireAt(allHourKey, hourExpireAt);
+                sc.incr(RankingSnapshotService.VERSION_KEY); // 랭킹 스냅샷 갱신 신호
+                return null;
+            });
+
+            // 5) 근사 top-K 스케치 (고정 메모리)
+            heavyHittersService.record(site, createdAt != null ? createdAt : ZonedDateTime.now(KST), keywords);
 
             log.info("[Redis] Updated keyword counts site={}, date={}, title={}", site, date, title);
 
@@ -76,41 +106,47 @@ public class RedisPostConsumer {
         }
     }
 
-    private String resolveDateBucketKst(JsonNode node) {
+    /** createdAt(epoch millis or ISO) → time(epoch seconds) 순으로 작성 시각 해석, 없으면 null */
+    private ZonedDateTime resolveCreatedAtKst(RawPostMessage msg) {
         // 1) createdAt (epoch millis or ISO)
-        if (node.has("createdAt")) {
-            var c = node.get("createdAt");
+        JsonNode c = msg.createdAt();
+        if (c != null) {
             if (c.canConvertToLong()) {
-                return Instant.ofEpochMilli(c.asLong()).atZone(KST).toLocalDate().toString();
+                return Instant.ofEpochMilli(c.asLong()).atZone(KST);
             }
             if (c.isTextual()) {
                 String s = c.asText();
-                try { return Instant.parse(s).atZone(KST).toLocalDate().toString(); } catch (Exception ignore) {}
-                try { return LocalDateTime.parse(s).atZone(ZoneOffset.UTC).withZoneSameInstant(KST).toLocalDate().toString(); } catch (Exception ignore) {}
+                try { return Instant.parse(s).atZone(KST); } catch (Exception ignore) {}
+                try { return LocalDateTime.parse(s).atZone(ZoneOffset.UTC).withZoneSameInstant(KST); } catch (Exception ignore) {}
             }
         }
         // 2) time (epoch seconds)
-        if (node.has("time") && node.get("time").canConvertToLong()) {
-            long ms = node.get("time").asLong() * 1000L;
-            return Instant.ofEpochMilli(ms).atZone(KST).toLocalDate().toString();
+        JsonNode time = msg.time();
+        if (time != null && time.canConvertToLong()) {
+            long ms = time.asLong() * 1000L;
+            return Instant.ofEpochMilli(ms).atZone(KST);
         }
+        return null;
+    }
+
+    private String resolveDateBucketKst(RawPostMessage msg, ZonedDateTime createdAt) {
+        if (createdAt != null) return createdAt.toLocalDate().toString();
         // 3) date_kst (YYYY-MM-DD 텍스트) → 그대로 사용
-        if (node.has("date_kst") && node.get("date_kst").isTextual()) {
-            String d = node.get("date_kst").asText();
+        if (msg.dateKst() != null) {
+            String d = msg.dateKst();
             if (d.matches("\\d{4}-\\d{2}-\\d{2}")) return d;
         }
         // 4) 최후 폴백: 수신 시각 기준
         return LocalDate.now(KST).toString();
     }
 
-    private boolean setExpireAtByDate(String key, String yyyyMmDd) {
+    /** D+dailyRetentionDays 00:00 KST (epoch seconds), 파싱 실패 시 null */
+    private Long expireAtByDate(String yyyyMmDd) {
         try {
             LocalDate d = LocalDate.parse(yyyyMmDd);
-            ZonedDateTime expireAtZdt = d.plusDays(3).atStartOfDay(KST); // D+3 00:00
-            redisTemplate.expireAt(key, Date.from(expireAtZdt.toInstant()));
-            return true;
+            return d.plusDays(dailyRetentionDays).atStartOfDay(KST).toEpochSecond();
         } catch (Exception e) {
-            return false;
+            return null;
         }
     }
 
@@ -121,8 +157,4 @@ public class RedisPostConsumer {
         return x;
     }
 
-    private String textOrEmpty(JsonNode node, String field) {
-        return (node.has(field) && node.get(field).isTextual()) ? node.get(field).asText() : "";
-    }
-
 }
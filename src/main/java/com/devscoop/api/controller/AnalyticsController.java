@@ -0,0 +1,50 @@
+package com.devscoop.api.controller;
+
+import com.devscoop.api.dto.FacetsDto;
+import com.devscoop.api.service.FacetAnalyticsService;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@RestController
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    private final FacetAnalyticsService facetAnalyticsService;
+    private final ExecutorService apiExecutor;
+    private final Duration deadline;
+
+    public AnalyticsController(FacetAnalyticsService facetAnalyticsService,
+                               @Qualifier("apiExecutor") ExecutorService apiExecutor,
+                               @Value("${api.deadline.analytics:PT5S}") Duration deadline) {
+        this.facetAnalyticsService = facetAnalyticsService;
+        this.apiExecutor = apiExecutor;
+        this.deadline = deadline;
+    }
+
+    /** 최근 days일 소스/키워드/일별 건수 */
+    @GetMapping("/facets")
+    public CompletableFuture<FacetsDto> getFacets(
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(defaultValue = "all") String source,
+            @RequestParam(defaultValue = "20") int keywords
+    ) {
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return facetAnalyticsService.facets(days, source, keywords);
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                }, apiExecutor)
+                .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+    }
+}
@@ -0,0 +1,49 @@
+package com.devscoop.api.controller;
+
+import com.devscoop.api.service.ArticleSearchService.CursorExpiredException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * 공통 예외 매핑
+ *  - 잘못된 파라미터(window, cursor 등 IllegalArgumentException) → 400
+ *  - 만료된 PIT 검색 커서 → 410
+ *  - 비동기 엔드포인트 deadline 초과 → 504
+ * supplyAsync 안에서 던진 예외는 CompletionException으로 감싸져 오므로 원인으로 다시 분기
+ */
+@Slf4j
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    @ExceptionHandler({TimeoutException.class, AsyncRequestTimeoutException.class})
+    public ResponseEntity<String> handleDeadline(Exception e) {
+        log.warn("request deadline exceeded: {}", e.toString());
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body("deadline exceeded");
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleBadRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    @ExceptionHandler(CursorExpiredException.class)
+    public ResponseEntity<String> handleCursorExpired(CursorExpiredException e) {
+        return ResponseEntity.status(HttpStatus.GONE).body(e.getMessage());
+    }
+
+    @ExceptionHandler(CompletionException.class)
+    public ResponseEntity<String> handleCompletion(CompletionException e) throws Exception {
+        Throwable cause = e.getCause();
+        if (cause instanceof IllegalArgumentException iae) return handleBadRequest(iae);
+        if (cause instanceof CursorExpiredException cee) return handleCursorExpired(cee);
+        if (cause instanceof TimeoutException te) return handleDeadline(te);
+        throw e; // 그 외는 기본 처리(500)
+    }
+}
@@ -2,24 +2,54 @@ package com.devscoop.api.controller;
 
 import com.devscoop.api.dto.ArticleSearchResponseDto;
 import com.devscoop.api.service.ArticleSearchService;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
 @RestController
-@RequiredArgsConstructor
 public class ArticleSearchController {
 
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
     private final ArticleSearchService searchService;
+    private final ExecutorService apiExecutor;
+    private final Duration deadline;
+
+    public ArticleSearchController(ArticleSearchService searchService,
+                                   @Qualifier("apiExecutor") ExecutorService apiExecutor,
+                                   @Value("${api.deadline.search:PT3S}") Duration deadline) {
+        this.searchService = searchService;
+        this.apiExecutor = apiExecutor;
+        this.deadline = deadline;
+    }
 
     @GetMapping("/search")
-    public ArticleSearchResponseDto searchPosts(
+    public CompletableFuture<ArticleSearchResponseDto> searchPosts(
             @RequestParam String keyword,
             @RequestParam(required = false) String source,
             @RequestParam(defaultValue = "1") int page,
-            @RequestParam(defaultValue = "10") int size
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,  // 지정 시(빈 값=첫 페이지) search_after 커서 모드
+            @RequestParam(defaultValue = "false") boolean pit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from, // KST, 포함
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to     // KST, 포함
     ) {
-        return searchService.search(keyword, source, page, size);
+        // 날짜 구간 지정 시 해당 월 인덱스만 조회
+        Long fromMillis = from == null ? null : from.atStartOfDay(KST).toInstant().toEpochMilli();
+        Long toMillis = to == null ? null : to.plusDays(1).atStartOfDay(KST).toInstant().toEpochMilli();
+        return CompletableFuture.supplyAsync(() -> cursor != null
+                        ? searchService.searchAfter(keyword, source, fromMillis, toMillis, cursor, pit, size)
+                        : searchService.search(keyword, source, fromMillis, toMillis, page, size), apiExecutor)
+                .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
     }
 }
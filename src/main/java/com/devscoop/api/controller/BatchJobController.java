@@ -1,29 +1,132 @@
 package com.devscoop.api.controller;
 
-import com.devscoop.api.service.BackfillService;
+import com.devscoop.api.dto.JobExecutionDto;
+import com.devscoop.api.dto.RedisLayoutMigrationDto;
+import com.devscoop.api.dto.RedisMemoryReportDto;
+import com.devscoop.api.dto.SliceProgressDto;
+import com.devscoop.api.service.BatchJobService;
 import com.devscoop.api.service.KeywordExtractService;
+import com.devscoop.api.service.KeywordStatUpdateService;
+import com.devscoop.api.service.RawPostIndexService;
+import com.devscoop.api.service.RedisLayoutService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.web.bind.annotation.PostMapping;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.launch.NoSuchJobExecutionException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/job")
 public class BatchJobController {
 
+    private final BatchJobService batchJobService;
     private final KeywordExtractService keywordExtractService;
-    private final BackfillService backfillJobService;
+    private final KeywordStatUpdateService keywordStatUpdateService;
+    private final RawPostIndexService rawPostIndexService;
+    private final RedisLayoutService redisLayoutService;
 
     @PostMapping("/keywords")
-    public String extractHistory() {
-        keywordExtractService.extractKeywordsForHistory();
-        return "ok";
+    public ResponseEntity<JobExecutionDto> extractHistory() {
+        try {
+            return ResponseEntity.ok(batchJobService.launchKeywordExtract());
+        } catch (JobExecutionException e) {
+            log.warn("keywordExtractJob launch rejected", e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /** PIT 슬라이스 병렬 스캔을 비동기로 시작 (진행은 /keywords/progress, 이미 실행 중이면 409) */
+    @PostMapping("/keywords/sliced")
+    public ResponseEntity<List<SliceProgressDto>> extractHistorySliced(@RequestParam(defaultValue = "4") int slices) {
+        List<SliceProgressDto> progress = keywordExtractService.startSliced(slices);
+        return progress == null
+                ? ResponseEntity.status(HttpStatus.CONFLICT).build()
+                : ResponseEntity.accepted().body(progress);
+    }
+
+    /** 단일 커서 + 읽기/추출/쓰기 단계 중첩 파이프라인을 비동기로 시작 (이미 실행 중이면 409) */
+    @PostMapping("/keywords/pipelined")
+    public ResponseEntity<List<SliceProgressDto>> extractHistoryPipelined(@RequestParam(defaultValue = "8") int parallelism) {
+        List<SliceProgressDto> progress = keywordExtractService.startPipelined(parallelism);
+        return progress == null
+                ? ResponseEntity.status(HttpStatus.CONFLICT).build()
+                : ResponseEntity.accepted().body(progress);
+    }
+
+    /** 워터마크 이후 신규/미추출/구버전 문서만 처리 */
+    @PostMapping("/keywords/incremental")
+    public List<SliceProgressDto> extractIncremental() {
+        keywordExtractService.extractKeywordsIncremental();
+        return keywordExtractService.getIncrementalProgress();
+    }
+
+    /** 전체 어휘 7일 mean/std 일괄 재계산 (이미 실행 중이면 409) */
+    @PostMapping("/keyword-stats")
+    public ResponseEntity<Integer> recomputeKeywordStats() {
+        int updated = keywordStatUpdateService.recomputeAll();
+        return updated < 0 ? ResponseEntity.status(HttpStatus.CONFLICT).build() : ResponseEntity.ok(updated);
+    }
+
+    /** 레거시 단일 raw-posts 인덱스 → 월별 인덱스 reindex (완료 후 레거시 삭제) */
+    @PostMapping("/raw-posts/migrate")
+    public ResponseEntity<Void> migrateRawPosts() throws Exception {
+        return rawPostIndexService.migrateLegacy()
+                ? ResponseEntity.accepted().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+
+    /** 레거시 keyword_stats:* / seen:url:* → compact 버킷/샤드 해시 (이미 실행 중이면 409) */
+    @PostMapping("/redis/migrate-layout")
+    public ResponseEntity<RedisLayoutMigrationDto> migrateRedisLayout(@RequestParam(defaultValue = "false") boolean deleteLegacy) {
+        RedisLayoutMigrationDto result = redisLayoutService.migrate(deleteLegacy);
+        return result == null ? ResponseEntity.status(HttpStatus.CONFLICT).build() : ResponseEntity.ok(result);
+    }
+
+    /** legacy/compact 레이아웃별 키 수, MEMORY USAGE 표본, 인코딩 분포 */
+    @GetMapping("/redis/memory-report")
+    public RedisMemoryReportDto redisMemoryReport(@RequestParam(defaultValue = "200") int sample) {
+        return redisLayoutService.memoryReport(Math.max(1, Math.min(sample, 2000)));
+    }
+
+    @GetMapping("/keywords/progress")
+    public List<SliceProgressDto> getKeywordProgress() {
+        return keywordExtractService.getProgress();
     }
 
     @PostMapping("/backfill")
-    public String runBackfillJob() {
-        backfillJobService.runBackfillJob();
-        return "ok";
+    public ResponseEntity<JobExecutionDto> runBackfillJob() {
+        try {
+            return ResponseEntity.ok(batchJobService.launchBackfill());
+        } catch (JobExecutionException e) {
+            log.warn("backfillJob launch rejected", e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/executions/{executionId}")
+    public ResponseEntity<JobExecutionDto> getExecution(@PathVariable long executionId) {
+        try {
+            return ResponseEntity.ok(batchJobService.getExecution(executionId));
+        } catch (NoSuchJobExecutionException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/executions/{executionId}/restart")
+    public ResponseEntity<JobExecutionDto> restart(@PathVariable long executionId) {
+        try {
+            return ResponseEntity.ok(batchJobService.restart(executionId));
+        } catch (NoSuchJobExecutionException e) {
+            return ResponseEntity.notFound().build();
+        } catch (JobExecutionException | IllegalStateException e) {
+            log.warn("restart rejected: executionId={}", executionId, e);
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
     }
 }
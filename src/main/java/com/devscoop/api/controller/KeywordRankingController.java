@@ -1,25 +1,63 @@
 package com.devscoop.api.controller;
 
+import com.devscoop.api.dto.ApproxKeywordCountDto;
 import com.devscoop.api.dto.KeywordRankingDto;
-import com.devscoop.api.service.KeywordRankingService;
-import lombok.RequiredArgsConstructor;
+import com.devscoop.api.service.HeavyHittersService;
+import com.devscoop.api.service.RankingSnapshotService;
+import com.devscoop.api.service.RankingWindow;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 @RestController
-@RequiredArgsConstructor
 public class KeywordRankingController {
 
-    private final KeywordRankingService keywordRankingService;
+    private final RankingSnapshotService rankingSnapshotService;
+    private final HeavyHittersService heavyHittersService;
+    private final ExecutorService apiExecutor;
+    private final Duration deadline;
+
+    public KeywordRankingController(RankingSnapshotService rankingSnapshotService,
+                                    HeavyHittersService heavyHittersService,
+                                    @Qualifier("apiExecutor") ExecutorService apiExecutor,
+                                    @Value("${api.deadline.ranking:PT2S}") Duration deadline) {
+        this.rankingSnapshotService = rankingSnapshotService;
+        this.heavyHittersService = heavyHittersService;
+        this.apiExecutor = apiExecutor;
+        this.deadline = deadline;
+    }
 
     @GetMapping("/ranking")
-    public List<KeywordRankingDto> getKeywordRanking(
+    public CompletableFuture<List<KeywordRankingDto>> getKeywordRanking(
+            @RequestParam(defaultValue = "all") String source,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "day") String window // hour | day | 7d | 30d
+    ) {
+        RankingWindow w = RankingWindow.fromParam(window);
+        return CompletableFuture.supplyAsync(() -> rankingSnapshotService.getRanking(source, w, limit), apiExecutor)
+                .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /** 고정 메모리 근사 top-K (hour/day만, 7d/30d는 400). compare=true면 정확값과 함께 반환 */
+    @GetMapping("/ranking/approx")
+    public CompletableFuture<List<ApproxKeywordCountDto>> getApproxRanking(
             @RequestParam(defaultValue = "all") String source,
-            @RequestParam(defaultValue = "10") int limit
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "day") String window,
+            @RequestParam(defaultValue = "false") boolean compare
     ) {
-        return keywordRankingService.getKeywordRanking(source, limit);
+        RankingWindow w = RankingWindow.fromParam(window);
+        // 스케치는 hour/day 버킷만 유지 → 7d/30d는 400 (ApiExceptionHandler)
+        if (w.isRollup()) throw new IllegalArgumentException("Approximate ranking supports hour|day only: " + window);
+        return CompletableFuture.supplyAsync(() -> heavyHittersService.top(source, w, limit, compare), apiExecutor)
+                .orTimeout(deadline.toMillis(), TimeUnit.MILLISECONDS);
     }
 }
@@ -0,0 +1,26 @@
+package com.devscoop.api.controller;
+
+import com.devscoop.api.dto.KeywordSuggestionDto;
+import com.devscoop.api.service.KeywordSuggestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+public class KeywordSuggestController {
+
+    private final KeywordSuggestService keywordSuggestService;
+
+    /** 메모리 prefix 인덱스 조회만 하므로 동기 처리 */
+    @GetMapping("/suggest")
+    public List<KeywordSuggestionDto> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return keywordSuggestService.suggest(q, Math.min(limit, 50));
+    }
+}
@@ -1,7 +1,7 @@
 package com.devscoop.api.controller;
 
+import com.devscoop.api.codec.JsonCodec;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -38,7 +38,7 @@ public class RedditOAuthController {
     private final RedisTemplate<String, String> redisTemplate;
 
     private final RestTemplate restTemplate = new RestTemplate();
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final JsonCodec jsonCodec;
 
     /** 1) Reddit 동의 페이지로 리다이렉트 */
     @GetMapping("/authorize")
@@ -98,7 +98,7 @@ public class RedditOAuthController {
                 return redirect(successRedirect + "&error=token_failed");
             }
 
-            RedditToken token = objectMapper.readValue(tokenResp.getBody(), RedditToken.class);
+            RedditToken token = jsonCodec.read(tokenResp.getBody(), RedditToken.class);
 
             // Refresh Token Redis 저장 (유효기간 없이)
             if (token.refreshToken() != null && !token.refreshToken().isBlank()) {
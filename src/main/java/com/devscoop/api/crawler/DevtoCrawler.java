@@ -1,8 +1,9 @@
 package com.devscoop.api.crawler;
 
+import com.devscoop.api.codec.JsonCodec;
 import com.devscoop.api.dto.RawPostDto;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
@@ -18,12 +19,13 @@ import java.util.List;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class DevtoCrawler {
 
     private static final String API_URL = "https://dev.to/api/articles";
     private static final String USER_AGENT = "Mozilla/5.0 dev-scoop-crawler";
 
-    private final ObjectMapper mapper = new ObjectMapper();
+    private final JsonCodec jsonCodec;
     private final HttpClient client = HttpClient.newHttpClient();
 
     /**
@@ -38,7 +40,7 @@ public class DevtoCrawler {
                 String url = String.format("%s?page=%d&per_page=100", API_URL, page);
                 String body = fetch(url);
 
-                JsonNode root = mapper.readTree(body);
+                JsonNode root = jsonCodec.readTree(body);
                 if (!root.isArray() || root.size() == 0) break;
 
                 for (JsonNode item : root) {
@@ -80,7 +82,7 @@ public class DevtoCrawler {
                 String url = String.format("%s?page=%d&per_page=100", API_URL, page);
                 String body = fetch(url);
 
-                JsonNode root = mapper.readTree(body);
+                JsonNode root = jsonCodec.readTree(body);
                 if (!root.isArray() || root.size() == 0) break;
 
                 boolean reachedOldData = false;
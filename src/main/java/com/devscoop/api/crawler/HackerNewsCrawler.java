@@ -1,9 +1,11 @@
 package com.devscoop.api.crawler;
 
+import com.devscoop.api.codec.JsonCodec;
 import com.devscoop.api.dto.RawPostDto;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.net.URI;
@@ -16,23 +18,37 @@ import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.IntStream;
 
 @Slf4j
 @Component
 public class HackerNewsCrawler {
 
-    private final ObjectMapper mapper;
+    private final JsonCodec jsonCodec;
     private final HttpClient client = HttpClient.newHttpClient();
+    private final ExecutorService executor;
+    private final long minIntervalMs;
+    private long nextRequestAt = System.nanoTime();
 
     private static final String BASE_URL = "https://hacker-news.firebaseio.com/v0";
     private static final String USER_AGENT = "dev-scoop-crawler-hackernews";
     private static final String ALGOLIA_API = "https://hn.algolia.com/api/v1/search_by_date";
+    private static final int ALGOLIA_MAX_HITS = 1000;      // Algolia 쿼리당 결과 상한
+    private static final long MIN_WINDOW_SECONDS = 60;     // 분할 하한
 
-    public HackerNewsCrawler(ObjectMapper mapper) {
-        this.mapper = mapper;
+    public HackerNewsCrawler(JsonCodec jsonCodec,
+                             @Value("${hackernews.backfill.parallelism:4}") int parallelism,
+                             @Value("${hackernews.backfill.min-interval-ms:350}") long minIntervalMs) {
+        this.jsonCodec = jsonCodec;
+        this.executor = Executors.newFixedThreadPool(parallelism);
+        this.minIntervalMs = minIntervalMs;
     }
 
     /**
@@ -52,46 +68,89 @@ public class HackerNewsCrawler {
             return List.of();
         }
     }
+    /**
+     * start~end 범위를 Algolia 결과 상한(1000건) 이하의 윈도우로 적응 분할한 뒤
+     * 전역 rate limit 아래에서 병렬 수집하고 createdAt 오름차순으로 병합한다.
+     */
     public List<RawPostDto> fetchByDateRange(LocalDateTime start, LocalDateTime end) {
-        List<RawPostDto> results = new ArrayList<>();
-
-        // 1개월 단위로 나누어 호출 (6개월이면 6번)
+        // 1) 1개월 단위 초기 윈도우 → 상한 초과 시 반씩 분할 (probe는 hitsPerPage=0)
+        List<CompletableFuture<List<Window>>> planned = new ArrayList<>();
         LocalDateTime cursor = start;
         while (cursor.isBefore(end)) {
-            LocalDateTime next = cursor.plusMonths(1);
-            fetchFromAlgolia(cursor, next, results);
+            LocalDateTime next = cursor.plusMonths(1).isBefore(end) ? cursor.plusMonths(1) : end;
+            planned.add(plan(new Window(cursor.toEpochSecond(ZoneOffset.UTC), next.toEpochSecond(ZoneOffset.UTC))));
             cursor = next;
         }
+        List<Window> windows = planned.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList();
 
-        log.info("Fetched {} HackerNews posts between {} and {}",
-                results.size(), start, end);
+        // 2) 분할된 윈도우 병렬 수집
+        List<CompletableFuture<List<RawPostDto>>> fetched = windows.stream()
+                .map(w -> CompletableFuture.supplyAsync(() -> fetchWindow(w), executor))
+                .toList();
+
+        // 3) createdAt 순 병합
+        List<RawPostDto> results = new ArrayList<>(fetched.stream()
+                .map(CompletableFuture::join)
+                .flatMap(List::stream)
+                .toList());
+        results.sort(Comparator.comparing(RawPostDto::createdAt,
+                Comparator.nullsLast(Comparator.naturalOrder())));
+
+        log.info("Fetched {} HackerNews posts between {} and {} ({} windows)",
+                results.size(), start, end, windows.size());
 
         return results;
     }
 
     /**
-     * Algolia API를 사용하여 start~end 범위 데이터를 모두 페이지네이션으로 가져온다.
+     * 윈도우의 nbHits가 상한을 넘으면 반으로 나눠 재귀적으로 계획한다.
+     */
+    private CompletableFuture<List<Window>> plan(Window window) {
+        return CompletableFuture.supplyAsync(() -> probeHits(window), executor)
+                .thenCompose(nbHits -> {
+                    if (nbHits <= ALGOLIA_MAX_HITS) {
+                        return CompletableFuture.completedFuture(nbHits == 0 ? List.<Window>of() : List.of(window));
+                    }
+                    if (window.end() - window.start() <= MIN_WINDOW_SECONDS) {
+                        log.warn("[{} ~ {}] {} hits exceed Algolia cap even at minimum window, truncated",
+                                window.start(), window.end(), nbHits);
+                        return CompletableFuture.completedFuture(List.of(window));
+                    }
+                    long mid = window.start() + (window.end() - window.start()) / 2;
+                    CompletableFuture<List<Window>> left = plan(new Window(window.start(), mid));
+                    CompletableFuture<List<Window>> right = plan(new Window(mid, window.end()));
+                    return left.thenCombine(right, (l, r) -> {
+                        List<Window> merged = new ArrayList<>(l);
+                        merged.addAll(r);
+                        return merged;
+                    });
+                });
+    }
+
+    private int probeHits(Window window) {
+        try {
+            JsonNode root = jsonCodec.readTree(fetchAlgolia(window, 0, 0));
+            return root.path("nbHits").asInt();
+        } catch (Exception e) {
+            log.error("Failed to probe HackerNews window [{} ~ {}]", window.start(), window.end(), e);
+            return 1; // 단일 윈도우로 수집 시도
+        }
+    }
+
+    /**
+     * Algolia API를 사용하여 윈도우 범위 데이터를 모두 페이지네이션으로 가져온다.
      */
-    private void fetchFromAlgolia(LocalDateTime start, LocalDateTime end, List<RawPostDto> collector) {
-        long startEpoch = start.toEpochSecond(ZoneOffset.UTC);
-        long endEpoch = end.toEpochSecond(ZoneOffset.UTC);
+    private List<RawPostDto> fetchWindow(Window window) {
+        List<RawPostDto> collector = new ArrayList<>();
 
         int page = 0;
         while (true) {
             try {
-                // 쿼리 파라미터 구성
-                String numericFilters = URLEncoder.encode(
-                        "created_at_i>=" + startEpoch + ",created_at_i<=" + endEpoch,
-                        StandardCharsets.UTF_8
-                );
-
-                String url = String.format(
-                        "%s?tags=story&numericFilters=%s&hitsPerPage=1000&page=%d",
-                        ALGOLIA_API, numericFilters, page
-                );
-
-                String json = fetch(url);
-                JsonNode root = mapper.readTree(json);
+                String json = fetchAlgolia(window, ALGOLIA_MAX_HITS, page);
+                JsonNode root = jsonCodec.readTree(json);
                 JsonNode hits = root.path("hits");
 
                 if (hits.isEmpty()) {
@@ -107,7 +166,7 @@ public class HackerNewsCrawler {
                 int totalPages = root.path("nbPages").asInt();
 
                 log.info("[{} ~ {}] page {}/{} fetched {} items",
-                        start, end, currentPage, totalPages, hits.size());
+                        window.start(), window.end(), currentPage, totalPages, hits.size());
 
                 // 마지막 페이지까지 다 읽었으면 중단
                 if (currentPage >= totalPages - 1) {
@@ -120,7 +179,46 @@ public class HackerNewsCrawler {
                 break;
             }
         }
+        return collector;
     }
+
+    private String fetchAlgolia(Window window, int hitsPerPage, int page) throws Exception {
+        // [start, end) 반열림 구간으로 윈도우 경계 중복 방지
+        String numericFilters = URLEncoder.encode(
+                "created_at_i>=" + window.start() + ",created_at_i<" + window.end(),
+                StandardCharsets.UTF_8
+        );
+
+        String url = String.format(
+                "%s?tags=story&numericFilters=%s&hitsPerPage=%d&page=%d",
+                ALGOLIA_API, numericFilters, hitsPerPage, page
+        );
+
+        acquireRatePermit();
+        return fetch(url);
+    }
+
+    /**
+     * 모든 워커가 공유하는 전역 rate limit (요청 간 최소 간격)
+     */
+    private void acquireRatePermit() throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            long slot = Math.max(now, nextRequestAt);
+            nextRequestAt = slot + TimeUnit.MILLISECONDS.toNanos(minIntervalMs);
+            waitNanos = slot - now;
+        }
+        if (waitNanos > 0) TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private record Window(long start, long end) {}
+
     private RawPostDto toDtoFromAlgolia(JsonNode node) {
         String createdAt = node.path("created_at").asText();
         // "2025-02-01T12:34:56.000Z" -> LocalDateTime
@@ -144,7 +242,7 @@ public class HackerNewsCrawler {
                     .header("User-Agent", USER_AGENT)
                     .build();
             String body = client.send(req, HttpResponse.BodyHandlers.ofString()).body();
-            return mapper.readTree(body);
+            return jsonCodec.readTree(body);
         } catch (Exception e) {
             log.warn("Failed to fetch story {}", id, e);
             return null;
@@ -153,7 +251,7 @@ public class HackerNewsCrawler {
 
     private List<Long> getTopStoryIds() throws Exception {
         String idsJson = fetch(BASE_URL + "/topstories.json");
-        JsonNode ids = mapper.readTree(idsJson);
+        JsonNode ids = jsonCodec.readTree(idsJson);
         return IntStream.range(0, ids.size())
                 .mapToObj(i -> ids.get(i).asLong())
                 .toList();
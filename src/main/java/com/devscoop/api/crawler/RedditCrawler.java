@@ -1,8 +1,8 @@
 package com.devscoop.api.crawler;
 
+import com.devscoop.api.codec.JsonCodec;
 import com.devscoop.api.dto.RawPostDto;
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,7 +33,7 @@ public class RedditCrawler {
     private static final String BASE_URL = "https://oauth.reddit.com/r/programming/top?raw_json=1";
     private static final String USER_AGENT_FMT = "DevScoopOAuthClient/1.0 by u/%s https://dev-scoop.click";
 
-    private final ObjectMapper mapper;
+    private final JsonCodec jsonCodec;
     private final HttpClient client = HttpClient.newHttpClient();
     private final StringRedisTemplate redis; // Redis에서 refresh_token 읽기용
 
@@ -66,7 +66,7 @@ public class RedditCrawler {
                 return List.of();
             }
 
-            JsonNode posts = mapper.readTree(body).path("data").path("children");
+            JsonNode posts = jsonCodec.readTree(body).path("data").path("children");
             int limit = Math.min(count, posts.size());
 
             return IntStream.range(0, limit)
@@ -115,7 +115,7 @@ public class RedditCrawler {
                     break;
                 }
 
-                JsonNode root = mapper.readTree(body);
+                JsonNode root = jsonCodec.readTree(body);
                 JsonNode children = root.path("data").path("children");
                 if (!children.isArray() || children.size() == 0) break;
 
@@ -173,7 +173,7 @@ public class RedditCrawler {
             throw new RuntimeException("Reddit token refresh failed");
         }
 
-        JsonNode root = mapper.readTree(res.body());
+        JsonNode root = jsonCodec.readTree(res.body());
         JsonNode tokenNode = root.get("access_token");
         if (tokenNode == null) {
             log.error("[Reddit] No access_token in response: {}", res.body());
@@ -0,0 +1,12 @@
+package com.devscoop.api.dto;
+
+import lombok.Builder;
+
+@Builder
+public record ApproxKeywordCountDto(
+        String keyword,
+        long estimate,     // 근사 카운트 (과대추정)
+        long errorBound,   // estimate - errorBound ≤ 실제값
+        Integer exactCount // compare=true 일 때만 ZSET 정확값
+) {
+}
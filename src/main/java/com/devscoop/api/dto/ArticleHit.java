@@ -0,0 +1,29 @@
+package com.devscoop.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * 검색 결과 1건 (raw-posts _source 중 응답에 필요한 필드만)
+ */
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ArticleHit(
+        String id,
+        String source,
+        String title,
+        String url,
+        Long createdAt, // epoch millis (docvalue로 정규화, 색인 경로별 저장 포맷 차이 무관)
+        @JsonProperty("date_kst") String dateKst,
+        List<String> keywords
+) {
+    /** ES에 요청할 _source includes */
+    public static final List<String> SOURCE_FIELDS = List.of("source", "title", "url", "date_kst", "keywords");
+
+    public ArticleHit withMeta(String id, Long createdAt) {
+        return new ArticleHit(id, source, title, url, createdAt, dateKst, keywords);
+    }
+}
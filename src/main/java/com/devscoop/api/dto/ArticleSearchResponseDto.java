@@ -6,20 +6,21 @@ import lombok.Getter;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 
 @Getter
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class ArticleSearchResponseDto {
 
-    private final List<Map<String, Object>> content;
+    private final List<ArticleHit> content;
     private final long total;
     private final int page;
     private final int size;
+    private final String nextCursor; // 커서 모드: 다음 페이지 토큰 (마지막 페이지면 null)
+    private final boolean partial;   // ES 장애로 최근 윈도우만 조회한 결과 (요청 구간 일부 누락)
 
     // 성공 응답
-    public static ArticleSearchResponseDto of(List<Map<String, Object>> content, long total, int page, int size) {
+    public static ArticleSearchResponseDto of(List<ArticleHit> content, long total, int page, int size) {
         return ArticleSearchResponseDto.builder()
                 .content(content)
                 .total(total)
@@ -28,6 +29,22 @@ public class ArticleSearchResponseDto {
                 .build();
     }
 
+    // 커서(search_after) 응답: page는 0, total은 첫 페이지에서만 계산(이후 -1)
+    public static ArticleSearchResponseDto ofCursor(List<ArticleHit> content, long total, int size, String nextCursor) {
+        return ArticleSearchResponseDto.builder()
+                .content(content)
+                .total(total)
+                .page(0)
+                .size(size)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // 부분 응답: 요청 구간 중 로컬 최근 윈도우에 해당하는 결과만 포함
+    public static ArticleSearchResponseDto partial(ArticleSearchResponseDto result) {
+        return result.toBuilder().partial(true).build();
+    }
+
     // 빈 응답 (예외 등 실패 시)
     public static ArticleSearchResponseDto empty(int page, int size) {
         return ArticleSearchResponseDto.builder()
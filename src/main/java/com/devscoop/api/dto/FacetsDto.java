@@ -0,0 +1,20 @@
+package com.devscoop.api.dto;
+
+import lombok.Builder;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Builder
+public record FacetsDto(
+        LocalDate from,            // KST, 포함
+        LocalDate to,              // KST, 포함
+        long total,
+        List<Count> bySource,
+        List<Count> byKeyword,     // 일별 상위 키워드 합산 (근사)
+        List<DayCount> perDay
+) {
+    public record Count(String key, long count) {}
+
+    public record DayCount(LocalDate date, long total, List<Count> bySource) {}
+}
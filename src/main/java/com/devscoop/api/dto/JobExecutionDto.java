@@ -0,0 +1,56 @@
+package com.devscoop.api.dto;
+
+import lombok.Builder;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+@Builder
+public record JobExecutionDto(
+        Long executionId,
+        String jobName,
+        String status,
+        String exitCode,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        List<StepSummary> steps
+) {
+    public static JobExecutionDto from(JobExecution execution) {
+        return JobExecutionDto.builder()
+                .executionId(execution.getId())
+                .jobName(execution.getJobInstance().getJobName())
+                .status(execution.getStatus().name())
+                .exitCode(execution.getExitStatus().getExitCode())
+                .startTime(execution.getStartTime())
+                .endTime(execution.getEndTime())
+                .steps(execution.getStepExecutions().stream()
+                        .sorted(Comparator.comparing(StepExecution::getStepName))
+                        .map(StepSummary::from)
+                        .toList())
+                .build();
+    }
+
+    /** 파티션(워커 스텝)별 진행 현황 */
+    public record StepSummary(
+            String stepName,
+            String status,
+            long readCount,
+            long writeCount,
+            long filterCount,
+            long skipCount
+    ) {
+        static StepSummary from(StepExecution step) {
+            return new StepSummary(
+                    step.getStepName(),
+                    step.getStatus().name(),
+                    step.getReadCount(),
+                    step.getWriteCount(),
+                    step.getFilterCount(),
+                    step.getSkipCount()
+            );
+        }
+    }
+}
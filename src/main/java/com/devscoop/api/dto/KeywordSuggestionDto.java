@@ -0,0 +1,7 @@
+package com.devscoop.api.dto;
+
+public record KeywordSuggestionDto(
+        String keyword,
+        long weight // 최근 30일 언급 수
+) {
+}
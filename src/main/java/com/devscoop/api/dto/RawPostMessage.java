@@ -0,0 +1,28 @@
+package com.devscoop.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.List;
+
+/**
+ * raw-posts 토픽 메시지의 컨슈머측 뷰.
+ * 생산자마다 작성 시각 표현이 달라(createdAt: epoch millis/ISO, time: epoch sec, postedAt ...) 해당 필드만 노드로 받는다.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record RawPostMessage(
+        String source,
+        String title,
+        String url,
+        JsonNode createdAt,
+        JsonNode time,
+        String postedAt,
+        String publishedAt,
+        @JsonProperty("date_kst") String dateKst,
+        List<String> keywords
+) {
+    public List<String> keywordsOrEmpty() {
+        return keywords == null ? List.of() : keywords;
+    }
+}
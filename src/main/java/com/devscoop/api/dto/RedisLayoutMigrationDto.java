@@ -0,0 +1,9 @@
+package com.devscoop.api.dto;
+
+public record RedisLayoutMigrationDto(
+        long statsMigrated,
+        long seenMigrated,
+        long skipped,        // 값 누락/만료 임박/보존 기간 밖
+        long legacyDeleted,
+        long tookMs
+) {}
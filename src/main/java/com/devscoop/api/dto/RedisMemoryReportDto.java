@@ -0,0 +1,29 @@
+package com.devscoop.api.dto;
+
+import lombok.Builder;
+
+import java.util.List;
+import java.util.Map;
+
+@Builder
+public record RedisMemoryReportDto(
+        String activeLayout,
+        List<Family> families,
+        Double seenBytesPerMillionPostsLegacy,
+        Double seenBytesPerMillionPostsCompact,
+        Double zsetAvgMemberBytes,         // keyword_count:* 멤버(키워드 문자열) 평균 길이
+        Long zsetIntMemberSavingEstimate   // 멤버를 정수 id로 바꿨을 때 절감 추정치 (bytes)
+) {
+    @Builder
+    public record Family(
+            String name,
+            String layout,                 // legacy | compact | shared
+            String pattern,
+            long keys,
+            int sampledKeys,
+            double avgBytesPerKey,         // MEMORY USAGE 표본 평균
+            long estimatedBytes,           // avgBytesPerKey × keys
+            double bytesPerEntry,          // 항목(통계 1개, 지문 1개, 멤버 1개)당 바이트
+            Map<String, Integer> encodings // OBJECT ENCODING 표본 분포
+    ) {}
+}
@@ -0,0 +1,12 @@
+package com.devscoop.api.dto;
+
+public record SliceProgressDto(
+        int slice,
+        long processed,   // 읽은 문서 수
+        long written,     // keyword-stats에 쓴 문서 수
+        long pages,
+        boolean done,
+        boolean failed,
+        long elapsedMs
+) {
+}
@@ -14,6 +14,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TechKeywordExtractor {
 
+    /** 프롬프트/모델이 바뀌면 올린다 → 증분 추출이 이전 버전 문서를 다시 처리 */
+    public static final int VERSION = 1;
+
     private final OpenAIClient openAIClient;
 
     public List<String> extractKeywords(String title) {
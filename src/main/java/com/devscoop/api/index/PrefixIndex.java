@@ -0,0 +1,149 @@
+package com.devscoop.api.index;
+
+import java.util.*;
+
+/**
+ * 불변 prefix 인덱스 (평탄화한 trie).
+ * 정렬된 소문자 키 배열에서 이진 탐색으로 prefix 구간 [lo, hi)를 찾고, 구간 내 가중치 상위 k개를 고른다.
+ * 구간이 큰 짧은 prefix(1~3글자)는 빌드 시 상위 목록을 미리 계산해 둔다.
+ */
+public final class PrefixIndex {
+
+    public record Suggestion(String keyword, long weight) {}
+
+    private static final int PRECOMPUTED_PREFIX_LEN = 3;
+
+    private final String[] keys;      // 소문자, 오름차순
+    private final String[] display;   // 원래 표기 (가중치가 가장 큰 표기)
+    private final long[] weights;
+    private final int topK;
+    private final Map<String, int[]> shortPrefixTop;
+
+    private PrefixIndex(String[] keys, String[] display, long[] weights, int topK) {
+        this.keys = keys;
+        this.display = display;
+        this.weights = weights;
+        this.topK = topK;
+        this.shortPrefixTop = precompute();
+    }
+
+    public static PrefixIndex empty() {
+        return new PrefixIndex(new String[0], new String[0], new long[0], 0);
+    }
+
+    /**
+     * @param weighted 키워드 → 가중치 (대소문자만 다른 키워드는 합산)
+     * @param topK     짧은 prefix 사전 계산 개수
+     */
+    public static PrefixIndex build(Map<String, Long> weighted, int topK) {
+        TreeMap<String, long[]> merged = new TreeMap<>();   // key → {sum, bestWeight}
+        Map<String, String> best = new HashMap<>();
+        for (var e : weighted.entrySet()) {
+            String term = e.getKey() == null ? "" : e.getKey().trim();
+            if (term.isEmpty()) continue;
+            long w = e.getValue() == null ? 0 : e.getValue();
+            String key = normalize(term);
+            long[] acc = merged.computeIfAbsent(key, k -> new long[]{0, Long.MIN_VALUE});
+            acc[0] += w;
+            if (w > acc[1]) {
+                acc[1] = w;
+                best.put(key, term);
+            }
+        }
+
+        int n = merged.size();
+        String[] keys = new String[n];
+        String[] display = new String[n];
+        long[] weights = new long[n];
+        int i = 0;
+        for (var e : merged.entrySet()) {
+            keys[i] = e.getKey();
+            display[i] = best.get(e.getKey());
+            weights[i] = e.getValue()[0];
+            i++;
+        }
+        return new PrefixIndex(keys, display, weights, topK);
+    }
+
+    public static String normalize(String s) {
+        return s.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public int size() {
+        return keys.length;
+    }
+
+    /** prefix로 시작하는 키워드를 가중치 내림차순으로 최대 limit개 */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (prefix == null || limit <= 0 || keys.length == 0) return List.of();
+        String p = normalize(prefix);
+        if (p.isEmpty()) return List.of();
+
+        int[] cached = p.length() <= PRECOMPUTED_PREFIX_LEN && limit <= topK ? shortPrefixTop.get(p) : null;
+        if (cached != null) return toSuggestions(cached, limit);
+
+        int lo = lowerBound(p);
+        int hi = upperBound(p, lo);
+        return toSuggestions(topInRange(lo, hi, limit), limit);
+    }
+
+    private Map<String, int[]> precompute() {
+        Map<String, int[]> out = new HashMap<>();
+        if (topK <= 0) return out;
+        int i = 0;
+        while (i < keys.length) {
+            for (int len = 1; len <= PRECOMPUTED_PREFIX_LEN && len <= keys[i].length(); len++) {
+                String p = keys[i].substring(0, len);
+                if (out.containsKey(p)) continue;
+                out.put(p, topInRange(i, upperBound(p, i), topK));
+            }
+            i++;
+        }
+        return out;
+    }
+
+    private int[] topInRange(int lo, int hi, int k) {
+        if (hi <= lo) return new int[0];
+        // 가중치 min-heap 으로 상위 k개 유지
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1,
+                Comparator.<Integer>comparingLong(idx -> weights[idx]).thenComparing(idx -> -idx));
+        for (int idx = lo; idx < hi; idx++) {
+            if (heap.size() < k) heap.add(idx);
+            else if (weights[idx] > weights[heap.peek()]) {
+                heap.poll();
+                heap.add(idx);
+            }
+        }
+        int[] out = new int[heap.size()];
+        for (int j = out.length - 1; j >= 0; j--) out[j] = heap.poll();
+        return out;
+    }
+
+    private List<Suggestion> toSuggestions(int[] idx, int limit) {
+        int n = Math.min(idx.length, limit);
+        List<Suggestion> out = new ArrayList<>(n);
+        for (int j = 0; j < n; j++) out.add(new Suggestion(display[idx[j]], weights[idx[j]]));
+        return out;
+    }
+
+    private int lowerBound(String p) {
+        int lo = 0, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].compareTo(p) < 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** from 이후 p로 시작하지 않는 첫 위치 */
+    private int upperBound(String p, int from) {
+        int lo = from, hi = keys.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid].startsWith(p)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+}
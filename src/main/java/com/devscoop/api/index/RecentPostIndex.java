@@ -0,0 +1,222 @@
+package com.devscoop.api.index;
+
+import com.devscoop.api.dto.ArticleHit;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * 최근 글 in-process 역색인 (title/keywords, phrase-prefix).
+ * 일(day) 단위 세그먼트로 나눠 오래된 세그먼트를 통째로 버리는 방식으로 시간 기반 eviction.
+ * 세그먼트 내부는 int doc id + 원시 배열 postings, 정렬된 term 맵으로 prefix 구간 탐색.
+ */
+public final class RecentPostIndex {
+
+    public record Result(List<ArticleHit> hits, long total) {}
+
+    private static final Pattern TOKEN_SPLIT = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ZoneId zone;
+    private final int windowDays;
+    private final int maxDocs;
+    private final ConcurrentSkipListMap<LocalDate, Segment> segments = new ConcurrentSkipListMap<>();
+    private volatile LocalDate coveredFrom; // 이 날짜(포함) 이후 글은 빠짐없이 색인됨
+
+    public RecentPostIndex(ZoneId zone, int windowDays, int maxDocs) {
+        this.zone = zone;
+        this.windowDays = windowDays;
+        this.maxDocs = maxDocs;
+    }
+
+    /** 색인 (createdAt 없는 글, 윈도우 밖 글, 이미 있는 id는 무시) */
+    public boolean add(ArticleHit doc) {
+        if (doc == null || doc.createdAt() == null || doc.id() == null) return false;
+        LocalDate day = Instant.ofEpochMilli(doc.createdAt()).atZone(zone).toLocalDate();
+        if (day.isBefore(windowStart())) return false;
+        for (Segment s : segments.values()) {
+            if (s.contains(doc.id())) return false;
+        }
+        return segments.computeIfAbsent(day, d -> new Segment()).add(doc);
+    }
+
+    /** 부트스트랩 완료 등으로 from 이후가 완전하다고 표시 */
+    public void markCoveredFrom(LocalDate from) {
+        coveredFrom = from;
+    }
+
+    /** [fromMillis, ...) 질의를 로컬 윈도우만으로 정확히 답할 수 있는지 */
+    public boolean covers(Long fromMillis) {
+        LocalDate covered = coveredFrom;
+        if (fromMillis == null || covered == null) return false;
+        LocalDate fromDay = Instant.ofEpochMilli(fromMillis).atZone(zone).toLocalDate();
+        return !fromDay.isBefore(covered) && !fromDay.isBefore(windowStart());
+    }
+
+    /** 윈도우 밖 세그먼트 제거, 문서 수 상한 초과 시 가장 오래된 날부터 제거 */
+    public void evict() {
+        LocalDate start = windowStart();
+        segments.headMap(start).clear();
+        while (size() > maxDocs && segments.size() > 1) {
+            LocalDate oldest = segments.firstKey();
+            segments.remove(oldest);
+            if (coveredFrom != null && !coveredFrom.isAfter(oldest)) coveredFrom = oldest.plusDays(1);
+        }
+        if (coveredFrom != null && coveredFrom.isBefore(start)) coveredFrom = start;
+    }
+
+    public int size() {
+        int n = 0;
+        for (Segment s : segments.values()) n += s.size();
+        return n;
+    }
+
+    /**
+     * ES multi_match(phrase_prefix, title/keywords) + source/createdAt 필터와 같은 의미로 검색, createdAt 내림차순.
+     */
+    public Result search(String query, String source, Long fromMillis, Long toMillis, int offset, int limit) {
+        String[] q = tokenize(query);
+        if (q.length == 0) return new Result(List.of(), 0);
+        String src = source == null || source.isBlank() || "all".equals(source) ? null : source;
+        long from = fromMillis == null ? Long.MIN_VALUE : fromMillis;
+        long to = toMillis == null ? Long.MAX_VALUE : toMillis;
+
+        List<ArticleHit> matches = new ArrayList<>();
+        for (Segment s : segments.descendingMap().values()) s.search(q, src, from, to, matches);
+
+        matches.sort(Comparator.comparingLong(ArticleHit::createdAt).reversed());
+        int start = Math.min(Math.max(offset, 0), matches.size());
+        int end = Math.min(start + Math.max(limit, 0), matches.size());
+        return new Result(List.copyOf(matches.subList(start, end)), matches.size());
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now(zone).minusDays(windowDays - 1L);
+    }
+
+    static String[] tokenize(String text) {
+        if (text == null || text.isBlank()) return new String[0];
+        return Arrays.stream(TOKEN_SPLIT.split(text.toLowerCase(Locale.ROOT)))
+                .filter(t -> !t.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /** 하루치 세그먼트: append-only, 읽기/쓰기 락 */
+    private static final class Segment {
+
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<String, Integer> ids = new HashMap<>();
+        private ArticleHit[] docs = new ArticleHit[64];
+        private long[] createdAt = new long[64];
+        private String[][][] fields = new String[64][][]; // doc → [title tokens, keyword1 tokens, ...]
+        private int n;
+
+        boolean contains(String id) {
+            lock.readLock().lock();
+            try {
+                return ids.containsKey(id);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            lock.readLock().lock();
+            try {
+                return n;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        boolean add(ArticleHit doc) {
+            List<String> keywords = doc.keywords() == null ? List.of() : doc.keywords();
+            String[][] tokens = new String[1 + keywords.size()][];
+            tokens[0] = tokenize(doc.title());
+            for (int i = 0; i < keywords.size(); i++) tokens[i + 1] = tokenize(keywords.get(i));
+
+            lock.writeLock().lock();
+            try {
+                if (ids.putIfAbsent(doc.id(), n) != null) return false;
+                if (n == docs.length) {
+                    docs = Arrays.copyOf(docs, n * 2);
+                    createdAt = Arrays.copyOf(createdAt, n * 2);
+                    fields = Arrays.copyOf(fields, n * 2);
+                }
+                int docId = n++;
+                docs[docId] = doc;
+                createdAt[docId] = doc.createdAt();
+                fields[docId] = tokens;
+                for (String[] field : tokens) {
+                    for (String t : field) terms.computeIfAbsent(t, k -> new Postings()).add(docId);
+                }
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void search(String[] q, String source, long from, long to, List<ArticleHit> out) {
+            lock.readLock().lock();
+            try {
+                if (n == 0) return;
+                // 마지막 토큰: prefix 구간 postings 합집합
+                BitSet candidates = new BitSet(n);
+                String prefix = q[q.length - 1];
+                for (Postings p : terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                    p.orInto(candidates);
+                }
+                // 나머지 토큰: 정확 일치 postings 교집합
+                for (int i = 0; i < q.length - 1 && !candidates.isEmpty(); i++) {
+                    Postings p = terms.get(q[i]);
+                    if (p == null) return;
+                    BitSet exact = new BitSet(n);
+                    p.orInto(exact);
+                    candidates.and(exact);
+                }
+
+                for (int d = candidates.nextSetBit(0); d >= 0; d = candidates.nextSetBit(d + 1)) {
+                    if (createdAt[d] < from || createdAt[d] >= to) continue;
+                    if (source != null && !source.equals(docs[d].source())) continue;
+                    if (phraseMatches(fields[d], q)) out.add(docs[d]);
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        /** 토큰 순서 확인: q[0..k-1] 연속 일치 + q[k] prefix (필드 단위) */
+        private static boolean phraseMatches(String[][] fields, String[] q) {
+            int k = q.length - 1;
+            for (String[] f : fields) {
+                for (int i = 0; i + k < f.length; i++) {
+                    boolean ok = f[i + k].startsWith(q[k]);
+                    for (int j = 0; ok && j < k; j++) ok = f[i + j].equals(q[j]);
+                    if (ok) return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /** 정렬된 int doc id 목록 (append-only이므로 자연 정렬) */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int docId) {
+            if (size > 0 && ids[size - 1] == docId) return; // 같은 문서 내 중복 토큰
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = docId;
+        }
+
+        void orInto(BitSet bits) {
+            for (int i = 0; i < size; i++) bits.set(ids[i]);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.devscoop.api.listener;
+
+import com.devscoop.api.service.FacetAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * facets_cache:invalidate 채널 → 로컬 facet 일 버킷 캐시 전체 무효화
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class FacetCacheInvalidationListener implements MessageListener {
+
+    private final FacetAnalyticsService facetAnalyticsService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        facetAnalyticsService.invalidateLocal();
+        log.debug("[Redis] facet cache invalidated");
+    }
+}
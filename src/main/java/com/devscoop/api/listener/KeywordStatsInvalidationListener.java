@@ -0,0 +1,45 @@
+package com.devscoop.api.listener;
+
+import com.devscoop.api.service.KeywordRankingService;
+import com.devscoop.api.service.RedisKeySchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * 통계 캐시 키의 hset/hdel/만료/삭제 이벤트 → 로컬 near-cache 무효화
+ *  - legacy : keyword_stats:{source}:{keyword} → 해당 키워드만
+ *  - compact: kstats:{source}:{bucket}         → 필드명이 이벤트에 없으므로 버킷 전체
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class KeywordStatsInvalidationListener implements MessageListener {
+
+    private final KeywordRankingService keywordRankingService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String key = message.toString();
+        if (key.startsWith(RedisKeySchema.LEGACY_STATS_PREFIX)) {
+            String rest = key.substring(RedisKeySchema.LEGACY_STATS_PREFIX.length());
+            int sep = rest.indexOf(':');
+            if (sep <= 0) return;
+            keywordRankingService.invalidateStats(rest.substring(0, sep), rest.substring(sep + 1));
+        } else if (key.startsWith(RedisKeySchema.STATS_PREFIX)) {
+            String rest = key.substring(RedisKeySchema.STATS_PREFIX.length());
+            int sep = rest.lastIndexOf(':');
+            if (sep <= 0) return;
+            try {
+                keywordRankingService.invalidateStatsBucket(rest.substring(0, sep), Integer.parseInt(rest.substring(sep + 1)));
+            } catch (NumberFormatException e) {
+                return;
+            }
+        } else {
+            return;
+        }
+        log.debug("[Redis] near-cache invalidated: {}", key);
+    }
+}
@@ -1,27 +1,35 @@
 package com.devscoop.api.listener;
 
-import com.devscoop.api.service.KeywordStatUpdateService;
+import com.devscoop.api.service.KeywordStatRecomputeQueue;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.connection.Message;
 import org.springframework.data.redis.connection.MessageListener;
 import org.springframework.stereotype.Component;
 
+/**
+ * keyword_stats:{source}:{keyword} 만료 → 재계산 큐에 등록만 (리스너 스레드 비차단)
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class RedisKeyExpirationListener implements MessageListener {
 
-    private final KeywordStatUpdateService statUpdateService;
+    private static final String PREFIX = "keyword_stats:";
+
+    private final KeywordStatRecomputeQueue recomputeQueue;
 
     @Override
     public void onMessage(Message message, byte[] pattern) {
         String expiredKey = message.toString();
-        log.info("[Redis] TTL expired key: {}", expiredKey);
+        if (!expiredKey.startsWith(PREFIX)) return;
+
+        // keyword-stats 문서는 키워드 단위(소스 합산)이므로 소스는 버리고 키워드만 큐잉
+        String rest = expiredKey.substring(PREFIX.length());
+        int sep = rest.indexOf(':');
+        if (sep <= 0) return;
 
-        if (expiredKey.startsWith("keyword_stats:")) {
-            String keyword = expiredKey.substring("keyword_stats:".length());
-            statUpdateService.updateMeanAndStd(keyword);
-        }
+        recomputeQueue.submit(rest.substring(sep + 1));
+        log.debug("[Redis] TTL expired key queued: {}", expiredKey);
     }
 }
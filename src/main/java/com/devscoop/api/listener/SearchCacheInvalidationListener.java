@@ -0,0 +1,30 @@
+package com.devscoop.api.listener;
+
+import com.devscoop.api.service.ArticleSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * search_cache:invalidate 채널(payload: source) → 로컬 검색 결과 캐시 무효화
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SearchCacheInvalidationListener implements MessageListener {
+
+    private final ArticleSearchService articleSearchService;
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String source = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (source.isBlank()) return;
+
+        articleSearchService.invalidateSource(source);
+        log.debug("[Redis] search cache invalidated: {}", source);
+    }
+}
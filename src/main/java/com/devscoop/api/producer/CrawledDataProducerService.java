@@ -1,15 +1,15 @@
 package com.devscoop.api.producer;
 
+import com.devscoop.api.codec.JsonCodec;
+import com.devscoop.api.dto.RawPostDto;
 import com.devscoop.api.extractor.TechKeywordExtractor;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Objects;
 
 @Slf4j
 @Service
@@ -17,19 +17,23 @@ import java.util.List;
 public class CrawledDataProducerService {
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final TechKeywordExtractor techKeywordExtractor; // 추가
+    private final JsonCodec jsonCodec;
 
-    public void send(String topic, String key, String json) {
+    public void send(String topic, String key, RawPostDto post) {
         try {
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode node = mapper.readTree(json);
+            List<String> keywords = techKeywordExtractor.extractKeywords(Objects.requireNonNull(post.title(), "title"));
 
-            String title = node.get("title").asText();
-            List<String> keywords = techKeywordExtractor.extractKeywords(title);
+            // keywords 필드를 채워 한 번만 직렬화
+            RawPostDto withKeywords = RawPostDto.builder()
+                    .source(post.source())
+                    .title(post.title())
+                    .url(post.url())
+                    .createdAt(post.createdAt())
+                    .dateKst(post.dateKst())
+                    .keywords(keywords)
+                    .build();
 
-            // keywords 필드를 JSON에 추가
-            ((ObjectNode) node).putPOJO("keywords", keywords);
-
-            kafkaTemplate.send(topic, key, mapper.writeValueAsString(node));
+            kafkaTemplate.send(topic, key, jsonCodec.writeRawPost(withKeywords));
         } catch (Exception e) {
             log.error("[Producer] Failed to send message to topic={}, key={}", topic, key, e);
         }
@@ -0,0 +1,129 @@
+package com.devscoop.api.reader;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.devscoop.api.service.RawPostIndices;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * raw-posts의 createdAt [from, to) 구간을 PIT + search_after로 읽는 파티션용 리더.
+ * 커밋된 마지막 createdAt을 ExecutionContext에 저장해 재시작 시 그 지점부터 이어 읽는다.
+ */
+@Slf4j
+public class RawPostRangeReader implements ItemStreamReader<Map<String, Object>> {
+
+    private static final String CURSOR_KEY = "rawPostRangeReader.lastCreatedAt";
+
+    private final ElasticsearchClient es;
+    private final long from;
+    private final long to;
+    private final int pageSize;
+
+    private final Deque<Hit<Map>> buffer = new ArrayDeque<>();
+    private String pitId;
+    private List<FieldValue> searchAfter;
+    private long lowerBound;
+    private Long lastCreatedAt;
+    private boolean exhausted;
+
+    public RawPostRangeReader(ElasticsearchClient es, long from, long to, int pageSize) {
+        this.es = es;
+        this.from = from;
+        this.to = to;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void open(ExecutionContext ctx) throws ItemStreamException {
+        // 재시작: 같은 createdAt 문서는 다시 읽히지만 id 기준 색인이라 멱등
+        lowerBound = ctx.containsKey(CURSOR_KEY) ? ctx.getLong(CURSOR_KEY) : from;
+        try {
+            // 구간에 해당하는 월별 인덱스만 대상으로
+            pitId = es.openPointInTime(b -> b
+                    .index(RawPostIndices.forRange(from, to))
+                    .ignoreUnavailable(true)
+                    .keepAlive(Time.of(t -> t.time("5m")))).id();
+        } catch (Exception e) {
+            throw new ItemStreamException("Failed to open PIT for raw-posts [" + from + ", " + to + ")", e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> read() throws Exception {
+        if (buffer.isEmpty() && !exhausted) fetchNextPage();
+
+        Hit<Map> hit = buffer.poll();
+        if (hit == null) return null;
+
+        if (hit.sort() != null && !hit.sort().isEmpty()) {
+            lastCreatedAt = hit.sort().get(0).longValue();
+        }
+        @SuppressWarnings("unchecked")
+        Map<String, Object> src = hit.source();
+        return src;
+    }
+
+    private void fetchNextPage() throws Exception {
+        String gte = String.valueOf(lowerBound);
+        String lt = String.valueOf(to);
+        SearchRequest.Builder req = new SearchRequest.Builder()
+                .size(pageSize)
+                .pit(p -> p.id(pitId).keepAlive(t -> t.time("5m")))
+                .sort(List.of(
+                        SortOptions.of(o -> o.field(f -> f.field("createdAt").order(SortOrder.Asc))),
+                        SortOptions.of(o -> o.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                ))
+                .query(q -> q.range(r -> r.date(d -> d
+                        .field("createdAt")
+                        .gte(gte)
+                        .lt(lt)
+                        .format("epoch_millis"))));
+
+        if (searchAfter != null && !searchAfter.isEmpty()) {
+            req.searchAfter(searchAfter);
+        }
+
+        SearchResponse<Map> res = es.search(req.build(), Map.class);
+        List<Hit<Map>> hits = res.hits().hits();
+        if (hits.isEmpty()) {
+            exhausted = true;
+            return;
+        }
+        buffer.addAll(hits);
+        searchAfter = hits.get(hits.size() - 1).sort();
+        if (searchAfter == null || searchAfter.isEmpty()) exhausted = true;
+    }
+
+    @Override
+    public void update(ExecutionContext ctx) throws ItemStreamException {
+        // chunk 커밋 직후 호출 → 마지막으로 읽은 항목까지 처리 완료 상태
+        if (lastCreatedAt != null) ctx.putLong(CURSOR_KEY, lastCreatedAt);
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (pitId == null) return;
+        try {
+            String id = pitId;
+            es.closePointInTime(c -> c.id(id));
+        } catch (Exception e) {
+            log.warn("Failed to close PIT", e);
+        } finally {
+            pitId = null;
+        }
+    }
+}
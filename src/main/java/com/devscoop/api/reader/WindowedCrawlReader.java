@@ -0,0 +1,115 @@
+package com.devscoop.api.reader;
+
+import com.devscoop.api.dto.RawPostDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * 백필 파티션 [from, to)를 windowSize 단위로 나눠 윈도우마다 크롤러를 호출하는 리더.
+ * 현재 윈도우 시작과 마지막으로 읽은 항목의 (createdAt, url)을 ExecutionContext에 저장해
+ * 재시작 시 그 윈도우만 다시 가져오고 이미 커밋된 항목은 건너뛴다.
+ */
+@Slf4j
+public class WindowedCrawlReader implements ItemStreamReader<RawPostDto> {
+
+    private static final String WINDOW_KEY = "windowedCrawlReader.windowStart";
+    private static final String LAST_CREATED_KEY = "windowedCrawlReader.lastCreatedAt";
+    private static final String LAST_URL_KEY = "windowedCrawlReader.lastUrl";
+
+    // 윈도우 내 순서 고정 (최신순 API도 재시작 간 같은 위치가 같은 항목을 가리키도록)
+    private static final Comparator<RawPostDto> ORDER = Comparator
+            .comparing(RawPostDto::createdAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(p -> Objects.toString(p.url(), ""));
+
+    private final BiFunction<LocalDateTime, LocalDateTime, List<RawPostDto>> fetcher;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+    private final Duration windowSize;
+
+    private LocalDateTime windowStart;
+    private Iterator<RawPostDto> current;
+    private RawPostDto last;        // 현재 윈도우에서 마지막으로 읽은 항목
+    private RawPostDto resumeAfter; // 재시작 시 이 항목까지는 커밋됨
+
+    public WindowedCrawlReader(BiFunction<LocalDateTime, LocalDateTime, List<RawPostDto>> fetcher,
+                               LocalDateTime from, LocalDateTime to, Duration windowSize) {
+        this.fetcher = fetcher;
+        this.from = from;
+        this.to = to;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public void open(ExecutionContext ctx) throws ItemStreamException {
+        windowStart = ctx.containsKey(WINDOW_KEY) ? LocalDateTime.parse(ctx.getString(WINDOW_KEY)) : from;
+        if (ctx.containsKey(LAST_URL_KEY)) {
+            String createdAt = ctx.getString(LAST_CREATED_KEY, "");
+            resumeAfter = RawPostDto.builder()
+                    .createdAt(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt))
+                    .url(ctx.getString(LAST_URL_KEY))
+                    .build();
+            log.info("Backfill reader resuming at window {} after {}", windowStart, resumeAfter.url());
+        }
+    }
+
+    @Override
+    public RawPostDto read() {
+        while (true) {
+            if (current == null) {
+                if (!windowStart.isBefore(to)) return null;
+                current = loadWindow();
+            }
+            if (current.hasNext()) {
+                last = current.next();
+                return last;
+            }
+            // 다음 윈도우로
+            windowStart = windowEnd();
+            current = null;
+            last = null;
+            resumeAfter = null;
+        }
+    }
+
+    private Iterator<RawPostDto> loadWindow() {
+        LocalDateTime end = windowEnd();
+        boolean lastWindow = end.equals(to);
+        return fetcher.apply(windowStart, end).stream()
+                // 경계 항목은 한 윈도우에만 (마지막 윈도우는 크롤러처럼 끝 포함)
+                .filter(p -> p.createdAt() == null
+                        || (!p.createdAt().isBefore(windowStart)
+                        && (p.createdAt().isBefore(end) || (lastWindow && !p.createdAt().isAfter(end)))))
+                .sorted(ORDER)
+                .filter(p -> resumeAfter == null || ORDER.compare(p, resumeAfter) > 0)
+                .toList()
+                .iterator();
+    }
+
+    private LocalDateTime windowEnd() {
+        LocalDateTime next = windowStart.plus(windowSize);
+        return next.isBefore(to) ? next : to;
+    }
+
+    @Override
+    public void update(ExecutionContext ctx) throws ItemStreamException {
+        // chunk 커밋 직후 호출 → 마지막으로 읽은 항목까지 처리 완료 상태
+        ctx.putString(WINDOW_KEY, windowStart.toString());
+        if (last != null) {
+            ctx.putString(LAST_CREATED_KEY, last.createdAt() == null ? "" : last.createdAt().toString());
+            ctx.putString(LAST_URL_KEY, Objects.toString(last.url(), ""));
+        } else if (resumeAfter == null) {
+            ctx.remove(LAST_CREATED_KEY);
+            ctx.remove(LAST_URL_KEY);
+        }
+    }
+}
@@ -5,15 +5,21 @@ import com.devscoop.api.crawler.HackerNewsCrawler;
 import com.devscoop.api.crawler.RedditCrawler;
 import com.devscoop.api.dto.RawPostDto;
 import com.devscoop.api.producer.CrawledDataProducerService;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.devscoop.api.service.RedisKeySchema;
 import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -28,9 +34,12 @@ public class CrawlerScheduler {
     private final DevtoCrawler devtoCrawler;
     private final CrawledDataProducerService producer; // KafkaTemplate 래퍼(acks=all,idempotence=true 권장)
     private final RedisTemplate<String, String> redisTemplate;
-    private final ObjectMapper mapper;
+    private final RedisKeySchema keySchema;
 
     private static final String TOPIC = "raw-posts";
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final RedisScript<Long> SEEN_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/seen_compact.lua"), Long.class);
     private final ExecutorService executor = Executors.newFixedThreadPool(3);
 
     // 5분마다 / 앱 시작 30초 후 첫 실행
@@ -50,12 +59,30 @@ public class CrawlerScheduler {
     private boolean isNewContent(String source, String urlOrTitle) {
         String normalized = normalize(urlOrTitle);
         String basis = source + "|" + normalized; // 소스까지 포함하고 싶으면 포함
-        String key = "seen:url:" + sha256(basis);
+        if (keySchema.compact()) return isNewContentCompact(sha256(basis));
+
+        String key = RedisKeySchema.LEGACY_SEEN_PREFIX + sha256(basis);
         // NX + TTL (2일) — 같은 URL은 48시간 내 재통과 불가
         Boolean ok = redisTemplate.opsForValue().setIfAbsent(key, "1", java.time.Duration.ofDays(2));
         return Boolean.TRUE.equals(ok);
     }
 
+    /**
+     * 오늘~2일 전 샤드 해시와 레거시 seen:url 키에 없을 때만 오늘 해시에 기록 (스크립트 1회 왕복).
+     * 레거시 키는 마이그레이션 이후 legacy 모드에서 기록된 것까지 잡기 위해 항상 확인 (2일 TTL 후엔 빈 EXISTS)
+     */
+    private boolean isNewContentCompact(String sha256Hex) {
+        String fingerprint = RedisKeySchema.seenFingerprint(sha256Hex);
+        LocalDate today = LocalDate.now(KST);
+        List<String> keys = new ArrayList<>(RedisKeySchema.SEEN_DAYS + 1);
+        for (int d = 0; d < RedisKeySchema.SEEN_DAYS; d++) keys.add(keySchema.seenShardKey(today.minusDays(d), fingerprint));
+        keys.add(RedisKeySchema.LEGACY_SEEN_PREFIX + sha256Hex);
+
+        Long ok = redisTemplate.execute(SEEN_SCRIPT, keys, fingerprint,
+                String.valueOf(Duration.ofDays(RedisKeySchema.SEEN_DAYS).toSeconds()));
+        return ok != null && ok == 1L;
+    }
+
     private String sha256(String s) {
         try {
             var md = java.security.MessageDigest.getInstance("SHA-256");
@@ -117,14 +144,12 @@ public class CrawlerScheduler {
                     .keywords(dto.keywords())
                     .build();
 
-            var json = mapper.writeValueAsString(enriched);
-
             // key=URL(멱등/파티셔닝), 없으면 제목 fallback
             String key = (dto.url() == null || dto.url().isBlank())
                     ? dto.title()
                     : normalize(dto.url());
 
-            producer.send(TOPIC, key, json);
+            producer.send(TOPIC, key, enriched);
         } catch (Exception e) {
             log.error("produce failed: source={} url={} title={}",
                     source, dto.url(), dto.title(), e);
@@ -0,0 +1,25 @@
+package com.devscoop.api.scheduler;
+
+import com.devscoop.api.service.KeywordExtractService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeywordExtractScheduler {
+
+    private final KeywordExtractService keywordExtractService;
+
+    // 매시 10분, 워터마크 이후 데이터만 처리
+    @Scheduled(cron = "${keywords.incremental.cron:0 10 * * * *}", zone = "Asia/Seoul")
+    public void extractIncremental() {
+        try {
+            keywordExtractService.extractKeywordsIncremental();
+        } catch (Exception e) {
+            log.error("scheduled incremental keyword extraction failed", e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.devscoop.api.scheduler;
+
+import com.devscoop.api.service.RankingWindow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 일별 ZSET을 ZUNIONSTORE로 합쳐 7d/30d(및 직전 구간) 롤업 키를 갱신.
+ * 조회 시점에는 롤업 키 하나만 읽으면 된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeywordRollupScheduler {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final List<String> SOURCES = List.of("all", "hackernews", "reddit", "devto");
+    private static final Duration ROLLUP_TTL = Duration.ofDays(1); // 스케줄러가 멈추면 자연 소멸
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 10분마다 / 앱 시작 1분 후 첫 실행
+    @Scheduled(fixedDelayString = "${ranking.rollup.interval-ms:600000}", initialDelay = 60_000)
+    public void rollup() {
+        LocalDate today = LocalDate.now(KST);
+        for (String source : SOURCES) {
+            for (RankingWindow window : RankingWindow.values()) {
+                if (!window.isRollup()) continue;
+                try {
+                    String key = RankingWindow.KEY_PREFIX + source + ":" + window.param();
+                    store(key, window.dayKeys(source, today, 0));
+                    store(key + ":prev", window.dayKeys(source, today, window.days()));
+                } catch (Exception e) {
+                    log.error("[Redis] rollup failed source={}, window={}", source, window.param(), e);
+                }
+            }
+        }
+    }
+
+    /** 임시 키에 합친 뒤 RENAME → 읽는 쪽은 항상 완성된 롤업만 본다 */
+    private void store(String destKey, List<String> dayKeys) {
+        String tmpKey = destKey + ":tmp";
+        Long size = redisTemplate.opsForZSet()
+                .unionAndStore(dayKeys.getFirst(), dayKeys.subList(1, dayKeys.size()), tmpKey);
+        if (size == null || size == 0) {
+            redisTemplate.delete(destKey);
+            return;
+        }
+        redisTemplate.rename(tmpKey, destKey);
+        redisTemplate.expire(destKey, ROLLUP_TTL);
+    }
+}
@@ -0,0 +1,25 @@
+package com.devscoop.api.scheduler;
+
+import com.devscoop.api.service.KeywordStatUpdateService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class KeywordStatScheduler {
+
+    private final KeywordStatUpdateService keywordStatUpdateService;
+
+    // 매시 20분, 전체 어휘 7일 mean/std 재계산
+    @Scheduled(cron = "${keywords.stats.cron:0 20 * * * *}", zone = "Asia/Seoul")
+    public void recomputeAll() {
+        try {
+            keywordStatUpdateService.recomputeAll();
+        } catch (Exception e) {
+            log.error("scheduled keyword stats recompute failed", e);
+        }
+    }
+}
@@ -1,74 +1,385 @@
 package com.devscoop.api.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.ElasticsearchException;
+import co.elastic.clients.elasticsearch._types.ErrorCause;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOptions;
 import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.Time;
 import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
-import co.elastic.clients.elasticsearch._types.query_dsl.MatchQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch._types.query_dsl.TermQuery;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.JsonData;
+import com.devscoop.api.dto.ArticleHit;
 import com.devscoop.api.dto.ArticleSearchResponseDto;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
-import java.util.Map;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class ArticleSearchService {
 
+    private static final String PIT_KEEP_ALIVE = "2m";
+
+    public static final String INVALIDATE_CHANNEL = "search_cache:invalidate"; // payload: source
+
     private final ElasticsearchClient esClient;
     private final ObjectMapper objectMapper;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final RecentPostIndexService recentPostIndexService;
+
+    @Value("${search.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${search.cache.ttl:PT30S}")
+    private Duration cacheTtl;
+
+    @Value("${search.track-total-hits:10000}") // total 정확 계산 상한
+    private int trackTotalHitsUpTo;
+
+    /** 정규화된 (keyword, source, page/cursor, size, 세대) → 결과. get(key, loader)로 동시 miss는 1회만 조회 */
+    private Cache<SearchKey, ArticleSearchResponseDto> resultCache;
+
+    /** 소스별 세대: 새 글이 색인되면 증가 → 이전 세대 키는 더 이상 조회되지 않고 TTL/크기로 정리 */
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Set<String> indexedSources = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void initResultCache() {
+        resultCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, resultCache, "search_results");
+    }
 
     public ArticleSearchResponseDto search(String keyword, String source, int page, int size) {
+        return search(keyword, source, null, null, page, size);
+    }
+
+    /**
+     * @param fromMillis/toMillis createdAt [from, to) 필터. 지정 시 해당 월 인덱스만 조회
+     */
+    public ArticleSearchResponseDto search(String keyword, String source, Long fromMillis, Long toMillis, int page, int size) {
+        if (page < 1) throw new IllegalArgumentException("page must be >= 1");
+        if (size < 1) throw new IllegalArgumentException("size must be >= 1");
+
+        // 최근 윈도우 안의 구간은 로컬 역색인으로 (ES 미사용)
+        if (recentPostIndexService.covers(fromMillis)) {
+            return recentPostIndexService.search(keyword, source, fromMillis, toMillis, page, size);
+        }
+
+        SearchKey key = SearchKey.of(keyword, source, fromMillis, toMillis, page, null, size, generation(source));
+        try {
+            return resultCache.get(key, k -> unchecked(() -> doSearch(k, page, size)));
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // 요청 구간은 윈도우 밖 → 로컬 결과는 일부일 뿐. 윈도우가 완전할 때만 partial로 표시해 반환
+            long windowStart = recentPostIndexService.windowStartMillis();
+            if (!recentPostIndexService.covers(windowStart) || (toMillis != null && toMillis <= windowStart)) throw e;
+            log.error("Failed to search in Elasticsearch, serving recent window only (partial)", e);
+            return ArticleSearchResponseDto.partial(
+                    recentPostIndexService.search(keyword, source, fromMillis, toMillis, page, size));
+        }
+    }
+
+    private ArticleSearchResponseDto doSearch(SearchKey key, int page, int size) throws Exception {
+        int from = (page - 1) * size;
+
+        SearchRequest request = projected(new SearchRequest.Builder())
+                .index(RawPostIndices.forRange(key.from(), key.to()))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .query(buildQuery(key))
+                .sort(s -> s.field(f -> f.field("createdAt").order(SortOrder.Desc)))
+                .from(from)
+                .size(size)
+                .trackTotalHits(t -> t.count(trackTotalHitsUpTo))
+                .build();
+
+        // 검색 실행
+        SearchResponse<ArticleHit> response = esClient.search(request, ArticleHit.class);
+        RawPostIndices.requireAllShards(response.shards());
+
+        long total = response.hits().total() != null ? response.hits().total().value() : 0L;
+
+        return ArticleSearchResponseDto.of(toArticles(response.hits().hits()), total, page, size);
+    }
+
+    /**
+     * search_after 커서 페이지네이션: 깊이와 무관하게 페이지당 O(size).
+     * cursor가 비어 있으면 첫 페이지(이때만 total 계산), usePit=true면 PIT로 일관된 스냅샷을 유지한다.
+     */
+    public ArticleSearchResponseDto searchAfter(String keyword, String source, String cursor, boolean usePit, int size) {
+        return searchAfter(keyword, source, null, null, cursor, usePit, size);
+    }
 
+    public ArticleSearchResponseDto searchAfter(String keyword, String source, Long fromMillis, Long toMillis,
+                                                String cursor, boolean usePit, int size) {
+        if (size < 1) throw new IllegalArgumentException("size must be >= 1");
+        Cursor prev = Cursor.decode(objectMapper, cursor);
+        SearchKey key = SearchKey.of(keyword, source, fromMillis, toMillis, 0, cursor == null ? "" : cursor, size,
+                generation(source));
         try {
-            // Bool query (must: keyword match, filter: source term)
-            BoolQuery.Builder boolQuery = new BoolQuery.Builder()
-                    .must(m -> m.multiMatch(mm -> mm
-                            .fields("title^2", "keywords")
-                            .type(co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType.PhrasePrefix)
-                            .query(keyword)
-                    ));
-
-            if (source != null && !source.isBlank() && !"all".equals(source)) {
-                boolQuery.filter(f -> f.term(TermQuery.of(t -> t
-                        .field("source.keyword")
-                        .value(source)
-                )));
+            // PIT 응답은 요청자 전용(PIT 수명/종료)이라 캐시하지 않음
+            if (usePit || (prev != null && prev.p() != null)) {
+                return unchecked(() -> doSearchAfter(key, prev, usePit, size));
             }
+            return resultCache.get(key, k -> unchecked(() -> doSearchAfter(k, prev, false, size)));
+        } catch (ElasticsearchException e) {
+            // 커서 자체가 원인인 경우만 4xx로, 나머지 ES 오류는 그대로 전파(5xx)
+            if (prev != null && prev.p() != null && isPitMissing(e)) {
+                throw new CursorExpiredException("Search cursor expired, restart from the first page", e);
+            }
+            if (prev != null && e.status() == 400) throw new IllegalArgumentException("Invalid search cursor", e);
+            throw e;
+        }
+    }
+
+    /** keep_alive 경과/노드 재시작으로 PIT 컨텍스트가 사라진 경우 (404 search_context_missing_exception) */
+    private static boolean isPitMissing(ElasticsearchException e) {
+        if (e.status() == 404) return true;
+        ErrorCause error = e.error();
+        if (error == null) return false;
+        if ("search_context_missing_exception".equals(error.type())) return true;
+        return error.rootCause().stream().anyMatch(c -> "search_context_missing_exception".equals(c.type()));
+    }
+
+    /** 만료된 PIT 커서 → 410. 클라이언트는 커서 없이 첫 페이지부터 다시 요청 */
+    public static class CursorExpiredException extends RuntimeException {
+        public CursorExpiredException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private ArticleSearchResponseDto doSearchAfter(SearchKey key, Cursor prev, boolean usePit, int size)
+            throws Exception {
+        List<String> indices = RawPostIndices.forRange(key.from(), key.to());
+        boolean first = prev == null;
+
+        String pitId = prev != null ? prev.p() : null;
+        if (first && usePit) {
+            pitId = esClient.openPointInTime(b -> b
+                    .index(indices)
+                    .ignoreUnavailable(true)
+                    .keepAlive(Time.of(t -> t.time(PIT_KEEP_ALIVE)))).id();
+        }
+        String pit = pitId;
+
+        SearchRequest.Builder builder = projected(new SearchRequest.Builder())
+                .query(buildQuery(key))
+                .sort(cursorSort(pit != null))
+                .size(size)
+                .trackTotalHits(t -> first ? t.count(trackTotalHitsUpTo) : t.enabled(false));
+        if (pit != null) builder.pit(p -> p.id(pit).keepAlive(Time.of(t -> t.time(PIT_KEEP_ALIVE))));
+        else builder.index(indices).ignoreUnavailable(true).allowNoIndices(true);
+        if (!first) builder.searchAfter(prev.toFieldValues());
+
+        SearchResponse<ArticleHit> response = esClient.search(builder.build(), ArticleHit.class);
+        RawPostIndices.requireAllShards(response.shards());
+        List<Hit<ArticleHit>> hits = response.hits().hits();
+
+        // PIT id는 응답마다 갱신될 수 있음
+        String nextPit = response.pitId() != null ? response.pitId() : pit;
+        String nextCursor = null;
+        if (hits.size() == size && hits.getLast().sort() != null) {
+            nextCursor = Cursor.of(hits.getLast().sort(), nextPit).encode(objectMapper);
+        } else if (nextPit != null) {
+            closePit(nextPit); // 마지막 페이지
+        }
+
+        long total = first && response.hits().total() != null ? response.hits().total().value() : -1L;
+        return ArticleSearchResponseDto.ofCursor(toArticles(hits), total, size, nextCursor);
+    }
+
+    /** 색인 경로에서 호출: 소스를 표시만 하고, 주기적으로 모아 전 노드에 무효화 전파 */
+    public void markIndexed(String source) {
+        if (source != null && !source.isBlank()) indexedSources.add(source);
+    }
 
-            int from = (page - 1) * size;
+    // refresh interval(기본 1s) 이후에 전파되도록 1초 주기로 모아서 발행
+    @Scheduled(fixedDelayString = "${search.cache.invalidate-interval-ms:1000}")
+    public void publishInvalidations() {
+        if (indexedSources.isEmpty()) return;
+        List<String> sources = new ArrayList<>(indexedSources);
+        indexedSources.removeAll(sources);
+        try {
+            for (String source : sources) redisTemplate.convertAndSend(INVALIDATE_CHANNEL, source);
+        } catch (Exception e) {
+            sources.forEach(this::invalidateSource); // 최소한 로컬은 무효화
+            log.warn("Failed to publish search cache invalidation", e);
+        }
+    }
+
+    /** 해당 소스와 "all" 결과를 무효화 (구독 리스너가 호출) */
+    public void invalidateSource(String source) {
+        generations.computeIfAbsent(source, s -> new AtomicLong()).incrementAndGet();
+        generations.computeIfAbsent("all", s -> new AtomicLong()).incrementAndGet();
+    }
+
+    private long generation(String source) {
+        AtomicLong gen = generations.get(SearchKey.normalizeSource(source));
+        return gen == null ? 0 : gen.get();
+    }
+
+    private static ArticleSearchResponseDto unchecked(Callable<ArticleSearchResponseDto> search) {
+        try {
+            return search.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record SearchKey(String keyword, String source, Long from, Long to,
+                             int page, String cursor, int size, long generation) {
 
-            SearchRequest request = new SearchRequest.Builder()
-                    .index("raw-posts")
-                    .query(q -> q.bool(boolQuery.build()))
-                    .sort(s -> s.field(f -> f.field("createdAt").order(SortOrder.Desc)))
-                    .from(from)
-                    .size(size)
-                    .build();
+        static SearchKey of(String keyword, String source, Long from, Long to,
+                            int page, String cursor, int size, long generation) {
+            String kw = keyword == null ? "" : keyword.trim().replaceAll("\\s+", " ").toLowerCase();
+            return new SearchKey(kw, normalizeSource(source), from, to, page, cursor, size, generation);
+        }
+
+        static String normalizeSource(String source) {
+            return source == null || source.isBlank() ? "all" : source.trim().toLowerCase();
+        }
+    }
+
+    private Query buildQuery(SearchKey key) {
+        String keyword = key.keyword();
+        String source = key.source();
+        // Bool query (must: keyword match, filter: source term)
+        BoolQuery.Builder boolQuery = new BoolQuery.Builder()
+                .must(m -> m.multiMatch(mm -> mm
+                        .fields("title^2", "keywords.text", "keywords")
+                        .lenient(true) // 레거시 인덱스(dynamic 매핑)와 공존하는 동안
+                        .type(co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType.PhrasePrefix)
+                        .query(keyword)
+                ));
+
+        if (source != null && !source.isBlank() && !"all".equals(source)) {
+            boolQuery.filter(f -> f.term(TermQuery.of(t -> t
+                    .field("source")
+                    .value(source)
+            )));
+        }
+        if (key.from() != null || key.to() != null) {
+            boolQuery.filter(f -> f.range(r -> r.date(d -> {
+                d.field("createdAt").format("epoch_millis");
+                if (key.from() != null) d.gte(String.valueOf(key.from()));
+                if (key.to() != null) d.lt(String.valueOf(key.to()));
+                return d;
+            })));
+        }
+        return Query.of(q -> q.bool(boolQuery.build()));
+    }
 
-            // 검색 실행
-            SearchResponse<Map> response = esClient.search(request, Map.class);
+    /** createdAt desc + tiebreaker (PIT면 _shard_doc, 아니면 url/title keyword) */
+    private List<SortOptions> cursorSort(boolean pit) {
+        List<SortOptions> sort = new ArrayList<>();
+        sort.add(SortOptions.of(s -> s.field(f -> f.field("createdAt").order(SortOrder.Desc))));
+        if (pit) {
+            sort.add(SortOptions.of(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc))));
+        } else {
+            sort.add(SortOptions.of(s -> s.field(f -> f.field("url").order(SortOrder.Asc).missing("_last"))));
+            sort.add(SortOptions.of(s -> s.field(f -> f.field("title.keyword").order(SortOrder.Asc).missing("_last"))));
+        }
+        return sort;
+    }
 
-            // 검색 결과 변환
-            List<Map<String, Object>> results = response.hits().hits().stream()
-                    .map(hit -> objectMapper.convertValue(hit.source(),
-                            new TypeReference<Map<String, Object>>() {}))
-                    .toList();
+    /** 응답에 필요한 _source 필드만 + createdAt은 epoch_millis docvalue로 */
+    static SearchRequest.Builder projected(SearchRequest.Builder builder) {
+        return builder
+                .source(sc -> sc.filter(f -> f.includes(ArticleHit.SOURCE_FIELDS)))
+                .docvalueFields(f -> f.field("createdAt").format("epoch_millis"));
+    }
 
-            long total = response.hits().total() != null ? response.hits().total().value() : 0L;
+    static List<ArticleHit> toArticles(List<Hit<ArticleHit>> hits) {
+        List<ArticleHit> out = new ArrayList<>(hits.size());
+        for (Hit<ArticleHit> hit : hits) {
+            if (hit.source() == null) continue;
+            out.add(hit.source().withMeta(hit.id(), createdAtMillis(hit.fields().get("createdAt"))));
+        }
+        return out;
+    }
 
-            return ArticleSearchResponseDto.of(results, total, page, size);
+    private static Long createdAtMillis(JsonData field) {
+        if (field == null) return null;
+        try {
+            List<?> values = field.to(List.class);
+            return values.isEmpty() ? null : new BigDecimal(String.valueOf(values.getFirst())).longValue();
+        } catch (Exception e) {
+            return null;
+        }
+    }
 
+    private void closePit(String pitId) {
+        try {
+            esClient.closePointInTime(c -> c.id(pitId));
         } catch (Exception e) {
-            log.error("Failed to search in Elasticsearch", e);
-            return ArticleSearchResponseDto.empty(page, size);
+            log.warn("Failed to close PIT", e);
+        }
+    }
+
+    /**
+     * 불투명 커서: base64url(JSON{s: 마지막 hit sort 값, p: PIT id})
+     */
+    private record Cursor(List<Object> s, String p) {
+
+        static Cursor of(List<FieldValue> sort, String pit) {
+            return new Cursor(sort.stream().map(FieldValue::_get).toList(), pit);
+        }
+
+        static Cursor decode(ObjectMapper mapper, String token) {
+            if (token == null || token.isBlank()) return null;
+            try {
+                byte[] json = Base64.getUrlDecoder().decode(token);
+                Cursor c = mapper.readValue(json, Cursor.class);
+                if (c.s() == null || c.s().isEmpty()) throw new IllegalArgumentException("empty cursor");
+                return c;
+            } catch (Exception e) {
+                throw new IllegalArgumentException("Invalid search cursor", e);
+            }
+        }
+
+        String encode(ObjectMapper mapper) throws Exception {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(mapper.writeValueAsBytes(this));
+        }
+
+        List<FieldValue> toFieldValues() {
+            return s.stream().map(v -> {
+                if (v == null) return FieldValue.NULL;
+                if (v instanceof Integer || v instanceof Long) return FieldValue.of(((Number) v).longValue());
+                if (v instanceof Number n) return FieldValue.of(n.doubleValue());
+                if (v instanceof Boolean b) return FieldValue.of(b);
+                return FieldValue.of(String.valueOf(v));
+            }).toList();
         }
     }
 }
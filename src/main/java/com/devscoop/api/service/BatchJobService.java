@@ -0,0 +1,92 @@
+package com.devscoop.api.service;
+
+import com.devscoop.api.config.BackfillJobConfig;
+import com.devscoop.api.config.KeywordExtractJobConfig;
+import com.devscoop.api.dto.JobExecutionDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionException;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.NoSuchJobExecutionException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Spring Batch 잡 실행/재시작/상태 조회
+ */
+@Slf4j
+@Service
+public class BatchJobService {
+
+    private final JobLauncher jobLauncher;
+    private final JobExplorer jobExplorer;
+    private final Map<String, Job> jobs;
+    private final RawPostIndexService rawPostIndexService;
+
+    public BatchJobService(@Qualifier("asyncJobLauncher") JobLauncher jobLauncher,
+                           JobExplorer jobExplorer,
+                           List<Job> jobs,
+                           RawPostIndexService rawPostIndexService) {
+        this.jobLauncher = jobLauncher;
+        this.jobExplorer = jobExplorer;
+        this.rawPostIndexService = rawPostIndexService;
+        this.jobs = jobs.stream().collect(Collectors.toMap(Job::getName, Function.identity()));
+    }
+
+    /** 최근 6개월 백필 */
+    public JobExecutionDto launchBackfill() throws JobExecutionException {
+        LocalDateTime end = LocalDateTime.now();
+        LocalDateTime start = end.minusMonths(6);
+
+        JobParameters params = new JobParametersBuilder()
+                .addString("start", start.toString())
+                .addString("end", end.toString())
+                .toJobParameters();
+        return launch(BackfillJobConfig.JOB_NAME, params);
+    }
+
+    public JobExecutionDto launchKeywordExtract() throws JobExecutionException {
+        JobParameters params = new JobParametersBuilder()
+                .addLong("requestedAt", System.currentTimeMillis())
+                .toJobParameters();
+        return launch(KeywordExtractJobConfig.JOB_NAME, params);
+    }
+
+    /** 실패/중단된 실행을 같은 파라미터로 재실행 → 완료된 파티션은 건너뛰고 이어서 처리 */
+    public JobExecutionDto restart(long executionId) throws JobExecutionException {
+        JobExecution previous = jobExplorer.getJobExecution(executionId);
+        if (previous == null) throw new NoSuchJobExecutionException("No job execution: " + executionId);
+        if (previous.getStatus() != BatchStatus.FAILED && previous.getStatus() != BatchStatus.STOPPED) {
+            throw new IllegalStateException("Only FAILED or STOPPED executions can be restarted: " + previous.getStatus());
+        }
+        return launch(previous.getJobInstance().getJobName(), previous.getJobParameters());
+    }
+
+    public JobExecutionDto getExecution(long executionId) throws NoSuchJobExecutionException {
+        JobExecution execution = jobExplorer.getJobExecution(executionId);
+        if (execution == null) throw new NoSuchJobExecutionException("No job execution: " + executionId);
+        return JobExecutionDto.from(execution);
+    }
+
+    private JobExecutionDto launch(String jobName, JobParameters params) throws JobExecutionException {
+        // 쓰기 alias 설치 전 백필은 'raw-posts-write' 구체 인덱스를 자동 생성하므로 거부
+        if (BackfillJobConfig.JOB_NAME.equals(jobName) && !rawPostIndexService.isBootstrapped()) {
+            throw new JobExecutionException("raw-posts indices not bootstrapped yet");
+        }
+        Job job = jobs.get(jobName);
+        JobExecution execution = jobLauncher.run(job, params);
+        log.info("Launched {} executionId={} params={}", jobName, execution.getId(), params);
+        return JobExecutionDto.from(execution);
+    }
+}
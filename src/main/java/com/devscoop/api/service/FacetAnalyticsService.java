@@ -0,0 +1,237 @@
+package com.devscoop.api.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.aggregations.CalendarInterval;
+import co.elastic.clients.elasticsearch._types.aggregations.DateHistogramBucket;
+import co.elastic.clients.elasticsearch._types.aggregations.StringTermsBucket;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.devscoop.api.dto.FacetsDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobExecutionListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * raw-posts 집계(size=0, terms/date_histogram) 기반 소스/키워드 facet.
+ * 결과는 KST 일 버킷 단위로 캐시:
+ *  - 확정된 날(증분 키워드 추출 워터마크 - grace 이전에 끝난 날): 무기한
+ *  - 마감됐지만 늦게 도착한 글/키워드가 아직 반영될 수 있는 날: pending TTL
+ *  - 오늘: 짧은 TTL
+ * 백필/추출 배치나 레거시 마이그레이션이 끝나면 facets_cache:invalidate 채널로 모든 노드에 전체 무효화.
+ */
+@Slf4j
+@Service
+public class FacetAnalyticsService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int SOURCES_PER_DAY = 20;
+    private static final int KEYWORDS_PER_DAY = 200; // 일별 상위 N을 합산하므로 요청 limit보다 넉넉히
+    private static final int MAX_DAYS = 180;
+
+    public static final String INVALIDATE_CHANNEL = "facets_cache:invalidate";
+
+    private final ElasticsearchClient esClient;
+    private final KeywordExtractService keywordExtractService;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration finalGrace;
+    private final Cache<DayKey, DayFacets> closedDays;
+    private final Cache<DayKey, DayFacets> pendingDays;
+    private final Cache<DayKey, DayFacets> openDays;
+
+    public FacetAnalyticsService(ElasticsearchClient esClient,
+                                 KeywordExtractService keywordExtractService,
+                                 StringRedisTemplate redisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${analytics.facets.closed-max-size:20000}") long closedMaxSize,
+                                 @Value("${analytics.facets.final-grace:PT6H}") Duration finalGrace,
+                                 @Value("${analytics.facets.pending-ttl:PT10M}") Duration pendingTtl,
+                                 @Value("${analytics.facets.open-ttl:PT1M}") Duration openTtl) {
+        this.esClient = esClient;
+        this.keywordExtractService = keywordExtractService;
+        this.redisTemplate = redisTemplate;
+        this.finalGrace = finalGrace;
+        this.closedDays = Caffeine.newBuilder().maximumSize(closedMaxSize).recordStats().build();
+        this.pendingDays = Caffeine.newBuilder().maximumSize(closedMaxSize).expireAfterWrite(pendingTtl).recordStats().build();
+        this.openDays = Caffeine.newBuilder().expireAfterWrite(openTtl).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, closedDays, "facets_closed_days");
+        CaffeineCacheMetrics.monitor(meterRegistry, pendingDays, "facets_pending_days");
+        CaffeineCacheMetrics.monitor(meterRegistry, openDays, "facets_open_days");
+    }
+
+    private record DayKey(LocalDate date, String source) {}
+
+    private record DayFacets(long total, Map<String, Long> bySource, Map<String, Long> byKeyword) {
+        static final DayFacets EMPTY = new DayFacets(0, Map.of(), Map.of());
+    }
+
+    /**
+     * 최근 days일(오늘 포함) facet. 캐시에 없는 날만 모아 집계 요청 1회.
+     */
+    public FacetsDto facets(int days, String source, int keywordLimit) throws Exception {
+        int n = Math.max(1, Math.min(days, MAX_DAYS));
+        String src = source == null || source.isBlank() ? "all" : source.trim().toLowerCase();
+        LocalDate today = LocalDate.now(KST);
+        LocalDate from = today.minusDays(n - 1);
+
+        long finalBefore = finalBefore();
+        Map<LocalDate, DayFacets> byDay = new TreeMap<>();
+        List<LocalDate> missing = new ArrayList<>();
+        for (LocalDate d = from; !d.isAfter(today); d = d.plusDays(1)) {
+            DayFacets cached = cacheFor(d, today, finalBefore).getIfPresent(new DayKey(d, src));
+            if (cached != null) byDay.put(d, cached);
+            else missing.add(d);
+        }
+
+        if (!missing.isEmpty()) {
+            // 부분 샤드 실패 응답은 aggregate에서 예외 → 어떤 캐시에도 남지 않음
+            Map<LocalDate, DayFacets> loaded = aggregate(src, missing.getFirst(), missing.getLast());
+            for (LocalDate d : missing) {
+                DayFacets f = loaded.getOrDefault(d, DayFacets.EMPTY);
+                cacheFor(d, today, finalBefore).put(new DayKey(d, src), f);
+                byDay.put(d, f);
+            }
+        }
+
+        return merge(from, today, byDay, keywordLimit);
+    }
+
+    private Cache<DayKey, DayFacets> cacheFor(LocalDate day, LocalDate today, long finalBefore) {
+        if (!day.isBefore(today)) return openDays;
+        long dayEnd = day.plusDays(1).atStartOfDay(KST).toInstant().toEpochMilli();
+        return dayEnd <= finalBefore ? closedDays : pendingDays;
+    }
+
+    /** 이 시각 이전에 끝난 날만 확정 (워터마크를 못 읽으면 확정 없음) */
+    private long finalBefore() {
+        try {
+            return keywordExtractService.extractedThrough() - finalGrace.toMillis();
+        } catch (Exception e) {
+            log.warn("[Facets] extractor watermark unavailable, not finalizing days", e);
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 과거 날짜 문서/키워드를 바꾸는 작업(백필, 키워드 추출 배치, 레거시 마이그레이션) 후 호출.
+     * 확정 캐시는 만료가 없으므로 작업을 돌린 노드뿐 아니라 모든 노드에 전파
+     */
+    public void invalidateAll() {
+        try {
+            redisTemplate.convertAndSend(INVALIDATE_CHANNEL, "all");
+        } catch (Exception e) {
+            invalidateLocal(); // 최소한 로컬은 무효화
+            log.warn("Failed to publish facet cache invalidation", e);
+        }
+    }
+
+    /** facets_cache:invalidate 수신 시 (발행한 노드 포함) */
+    public void invalidateLocal() {
+        closedDays.invalidateAll();
+        pendingDays.invalidateAll();
+        openDays.invalidateAll();
+        log.info("[Facets] day caches invalidated");
+    }
+
+    /** 배치 Job 완료 시 무효화 */
+    public JobExecutionListener invalidateAfterJob() {
+        return new JobExecutionListener() {
+            @Override
+            public void afterJob(JobExecution jobExecution) {
+                invalidateAll();
+            }
+        };
+    }
+
+    private Map<LocalDate, DayFacets> aggregate(String source, LocalDate first, LocalDate last) throws Exception {
+        long fromMillis = first.atStartOfDay(KST).toInstant().toEpochMilli();
+        long toMillis = last.plusDays(1).atStartOfDay(KST).toInstant().toEpochMilli();
+
+        List<Query> filters = new ArrayList<>();
+        filters.add(Query.of(q -> q.range(r -> r.date(d -> d
+                .field("createdAt")
+                .gte(String.valueOf(fromMillis))
+                .lt(String.valueOf(toMillis))
+                .format("epoch_millis")))));
+        if (!"all".equals(source)) filters.add(Query.of(q -> q.term(t -> t.field("source").value(source))));
+
+        SearchResponse<Void> res = esClient.search(s -> s
+                .index(RawPostIndices.forRange(fromMillis, toMillis))
+                .ignoreUnavailable(true)
+                .allowNoIndices(true)
+                .size(0)
+                .trackTotalHits(t -> t.enabled(false))
+                .query(q -> q.bool(b -> b.filter(filters)))
+                .aggregations("per_day", a -> a
+                        .dateHistogram(h -> h
+                                .field("createdAt")
+                                .calendarInterval(CalendarInterval.Day)
+                                .timeZone("Asia/Seoul")
+                                .format("yyyy-MM-dd")
+                                .minDocCount(1))
+                        .aggregations("by_source", sa -> sa.terms(t -> t.field("source").size(SOURCES_PER_DAY)))
+                        .aggregations("by_keyword", ka -> ka.terms(t -> t.field("keywords").size(KEYWORDS_PER_DAY)))),
+                Void.class);
+        RawPostIndices.requireAllShards(res.shards());
+
+        Map<LocalDate, DayFacets> out = new HashMap<>();
+        for (DateHistogramBucket b : res.aggregations().get("per_day").dateHistogram().buckets().array()) {
+            if (b.keyAsString() == null) continue;
+            out.put(LocalDate.parse(b.keyAsString()), new DayFacets(
+                    b.docCount(),
+                    termCounts(b.aggregations().get("by_source").sterms().buckets().array()),
+                    termCounts(b.aggregations().get("by_keyword").sterms().buckets().array())));
+        }
+        log.debug("[Facets] aggregated source={} {}~{} ({} days with posts)", source, first, last, out.size());
+        return out;
+    }
+
+    private static Map<String, Long> termCounts(List<StringTermsBucket> buckets) {
+        Map<String, Long> out = new HashMap<>(buckets.size() * 2);
+        for (StringTermsBucket t : buckets) out.put(t.key().stringValue(), t.docCount());
+        return out;
+    }
+
+    private static FacetsDto merge(LocalDate from, LocalDate to, Map<LocalDate, DayFacets> byDay, int keywordLimit) {
+        long total = 0;
+        Map<String, Long> sources = new HashMap<>();
+        Map<String, Long> keywords = new HashMap<>();
+        List<FacetsDto.DayCount> perDay = new ArrayList<>(byDay.size());
+
+        for (var e : byDay.entrySet()) {
+            DayFacets f = e.getValue();
+            total += f.total();
+            f.bySource().forEach((k, v) -> sources.merge(k, v, Long::sum));
+            f.byKeyword().forEach((k, v) -> keywords.merge(k, v, Long::sum));
+            perDay.add(new FacetsDto.DayCount(e.getKey(), f.total(), sorted(f.bySource(), Integer.MAX_VALUE)));
+        }
+
+        return FacetsDto.builder()
+                .from(from)
+                .to(to)
+                .total(total)
+                .bySource(sorted(sources, Integer.MAX_VALUE))
+                .byKeyword(sorted(keywords, keywordLimit))
+                .perDay(perDay)
+                .build();
+    }
+
+    private static List<FacetsDto.Count> sorted(Map<String, Long> counts, int limit) {
+        return counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(e -> new FacetsDto.Count(e.getKey(), e.getValue()))
+                .toList();
+    }
+}
@@ -0,0 +1,172 @@
+package com.devscoop.api.service;
+
+import com.devscoop.api.dto.ApproxKeywordCountDto;
+import com.devscoop.api.sketch.HeavyHitters;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 소스 × 구간(hour/day) 버킷별 고정 메모리 근사 top-K (Count-Min + Space-Saving).
+ * 각 노드는 자기가 소비한 파티션분만 집계하고, 주기적으로 Redis에 직렬화 → 조회 시 모든 노드 스케치를 병합.
+ */
+@Slf4j
+@Service
+public class HeavyHittersService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String KEY_PREFIX = "hh:";              // hh:{source}:{bucket}:{nodeId}
+    private static final String NODES_PREFIX = "hh:nodes:";      // hh:nodes:{source}:{bucket} → set(nodeId)
+    private static final List<RankingWindow> WINDOWS = List.of(RankingWindow.HOUR, RankingWindow.DAY);
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int width;
+    private final int depth;
+    private final int capacity;
+    private final String nodeId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final Map<BucketKey, HeavyHitters> local = new ConcurrentHashMap<>();
+    private final Set<BucketKey> dirty = ConcurrentHashMap.newKeySet();
+
+    public HeavyHittersService(RedisTemplate<String, String> redisTemplate,
+                               @Value("${ranking.approx.cms-width:2048}") int width,
+                               @Value("${ranking.approx.cms-depth:4}") int depth,
+                               @Value("${ranking.approx.capacity:1000}") int capacity) {
+        this.redisTemplate = redisTemplate;
+        this.width = width;
+        this.depth = depth;
+        this.capacity = capacity;
+    }
+
+    /** raw-posts 소비 시 호출. 현재/직전 버킷만 집계해 메모리를 고정 */
+    public void record(String source, ZonedDateTime createdAt, List<String> keywords) {
+        ZonedDateTime now = ZonedDateTime.now(KST);
+        for (RankingWindow window : WINDOWS) {
+            String bucket = window.bucketId(createdAt);
+            if (!isLive(window, bucket, now)) continue;
+
+            for (String src : List.of(source, "all")) {
+                BucketKey key = new BucketKey(src, window, bucket);
+                HeavyHitters hh = local.computeIfAbsent(key, k -> new HeavyHitters(width, depth, capacity));
+                for (String kw : keywords) hh.offer(kw);
+                dirty.add(key);
+            }
+        }
+    }
+
+    /**
+     * 근사 top-K. compareExact=true면 같은 구간 ZSET 정확값을 함께 반환 (오차 확인용)
+     */
+    public List<ApproxKeywordCountDto> top(String source, RankingWindow window, int limit, boolean compareExact) {
+        ZonedDateTime now = ZonedDateTime.now(KST);
+        String bucket = window.bucketId(now);
+        BucketKey key = new BucketKey(source, window, bucket);
+
+        HeavyHitters merged = new HeavyHitters(width, depth, capacity);
+        HeavyHitters mine = local.get(key);
+        if (mine != null) merged.merge(mine);
+
+        // 다른 노드 스케치 병합
+        Set<String> nodes = redisTemplate.opsForSet().members(NODES_PREFIX + key.id());
+        if (nodes != null) {
+            List<String> others = nodes.stream().filter(n -> !n.equals(nodeId)).toList();
+            List<String> encoded = others.isEmpty() ? List.of()
+                    : redisTemplate.opsForValue().multiGet(others.stream().map(n -> KEY_PREFIX + key.id() + ":" + n).toList());
+            if (encoded != null) {
+                for (String e : encoded) {
+                    if (e == null) continue;
+                    try {
+                        merged.merge(HeavyHitters.fromBytes(Base64.getDecoder().decode(e)));
+                    } catch (Exception ex) {
+                        log.warn("[HH] skip corrupt sketch for {}", key.id(), ex);
+                    }
+                }
+            }
+        }
+
+        List<HeavyHitters.Estimate> top = merged.top(limit);
+        List<Double> exact = compareExact
+                ? zscoreBatch(window.currentKey(source, now), top.stream().map(HeavyHitters.Estimate::item).toList())
+                : List.of();
+
+        List<ApproxKeywordCountDto> out = new ArrayList<>(top.size());
+        for (int i = 0; i < top.size(); i++) {
+            HeavyHitters.Estimate e = top.get(i);
+            Double ex = i < exact.size() ? exact.get(i) : null;
+            out.add(ApproxKeywordCountDto.builder()
+                    .keyword(e.item())
+                    .estimate(e.count())
+                    .errorBound(e.errorBound())
+                    .exactCount(compareExact ? (ex == null ? 0 : ex.intValue()) : null)
+                    .build());
+        }
+        return out;
+    }
+
+    // 10초마다 변경된 스케치를 Redis에 게시, 지난 버킷은 로컬에서 제거
+    @Scheduled(fixedDelayString = "${ranking.approx.flush-interval-ms:10000}", initialDelay = 10_000)
+    public void flush() {
+        ZonedDateTime now = ZonedDateTime.now(KST);
+        local.keySet().removeIf(k -> !isLive(k.window(), k.bucket(), now));
+
+        List<BucketKey> keys = new ArrayList<>(dirty);
+        dirty.removeAll(keys);
+        if (keys.isEmpty()) return;
+
+        try {
+            redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+                for (BucketKey k : keys) {
+                    HeavyHitters hh = local.get(k);
+                    if (hh == null) continue;
+                    long ttl = (k.window() == RankingWindow.HOUR ? Duration.ofHours(3) : Duration.ofDays(2)).toSeconds();
+                    byte[] sketchKey = bytes(KEY_PREFIX + k.id() + ":" + nodeId);
+                    byte[] nodesKey = bytes(NODES_PREFIX + k.id());
+                    conn.stringCommands().setEx(sketchKey, ttl, bytes(Base64.getEncoder().encodeToString(hh.toBytes())));
+                    conn.setCommands().sAdd(nodesKey, bytes(nodeId));
+                    conn.keyCommands().expire(nodesKey, ttl);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            dirty.addAll(keys); // 다음 주기에 재시도
+            log.error("[HH] sketch flush failed", e);
+        }
+    }
+
+    private boolean isLive(RankingWindow window, String bucket, ZonedDateTime now) {
+        ZonedDateTime previous = window == RankingWindow.HOUR ? now.minusHours(1) : now.minusDays(1);
+        return bucket.equals(window.bucketId(now)) || bucket.equals(window.bucketId(previous));
+    }
+
+    private List<Double> zscoreBatch(String key, List<String> members) {
+        if (members.isEmpty()) return List.of();
+        List<Object> raw = redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+            byte[] k = bytes(key);
+            for (String m : members) conn.zSetCommands().zScore(k, bytes(m));
+            return null;
+        });
+        List<Double> out = new ArrayList<>(raw.size());
+        for (Object o : raw) out.add(o == null ? null : (Double) o);
+        return out;
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private record BucketKey(String source, RankingWindow window, String bucket) {
+        String id() {
+            return source + ":" + bucket;
+        }
+    }
+}
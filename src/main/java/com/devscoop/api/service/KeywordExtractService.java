@@ -5,20 +5,35 @@ import co.elastic.clients.elasticsearch._types.FieldValue;
 import co.elastic.clients.elasticsearch._types.SortOptions;
 import co.elastic.clients.elasticsearch._types.SortOrder;
 import co.elastic.clients.elasticsearch._types.Time;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
 import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import co.elastic.clients.elasticsearch.core.BulkResponse;
 import co.elastic.clients.elasticsearch.core.OpenPointInTimeResponse;
 import co.elastic.clients.elasticsearch.core.SearchRequest;
 import co.elastic.clients.elasticsearch.core.SearchResponse;
+import com.devscoop.api.dto.SliceProgressDto;
 import com.devscoop.api.extractor.TechKeywordExtractor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 
 @Slf4j
@@ -28,77 +43,422 @@ public class KeywordExtractService {
 
     private final ElasticsearchClient es;
     private final TechKeywordExtractor extractor; // 키워드 추출기
+    private final MeterRegistry meterRegistry;
+    private final RedisTemplate<String, String> redisTemplate;
 
-    private static final String SRC_INDEX = "raw-posts";
+    private final AtomicBoolean incrementalRunning = new AtomicBoolean();
+    private final AtomicBoolean scanRunning = new AtomicBoolean();
+
+    // 인덱스 설정 index.max_slices_per_scroll (ES 기본 1024)
+    @Value("${keyword.extract.max-slices-per-scroll:1024}")
+    private int maxSlicesPerScroll;
+
+    // 파이프라인 추출 풀 상한 (기본: 코어 수)
+    @Value("${keyword.extract.max-parallelism:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}")
+    private int maxParallelism;
+
+    // 수동 스캔(전체/슬라이스/파이프라인)과 스케줄 증분 실행의 진행 현황은 분리
+    private volatile List<SliceProgress> currentRun = List.of();
+    private volatile List<SliceProgress> incrementalRun = List.of();
+
+    private static final String SRC_INDEX = RawPostIndices.READ_ALIAS;
     private static final String DEST_INDEX = "keyword-stats";
+    private static final String WATERMARK_KEY = "keyword_extract:watermark";
+    private static final int SCAN_PAGE_SIZE = 500;
+    private static final int PIPELINE_QUEUE_CAPACITY = 2;
+
+    // 파이프라인 종료 표시 (identity 비교)
+    private static final List<Map<String, Object>> END_OF_PAGES = new ArrayList<>(0);
+    private static final List<BulkOperation> END_OF_OPS = new ArrayList<>(0);
+
+    /**
+     * 슬라이스 병렬 스캔을 백그라운드로 시작하고 초기 진행 현황을 반환 (이미 실행 중이면 null).
+     * slices는 샤드 수와 max_slices_per_scroll 이내로 제한한다.
+     */
+    public List<SliceProgressDto> startSliced(int requestedSlices) {
+        if (!scanRunning.compareAndSet(false, true)) {
+            log.info("Keyword extraction scan already running, reject sliced run");
+            return null;
+        }
+        try {
+            int slices = clampSlices(requestedSlices);
+            List<SliceProgress> progresses = new ArrayList<>(slices);
+            for (int i = 0; i < slices; i++) progresses.add(new SliceProgress(i));
+            startRun(progresses);
+
+            Thread.ofVirtual().name("keyword-sliced").start(() -> {
+                try {
+                    extractKeywordsSliced(progresses);
+                } finally {
+                    scanRunning.set(false);
+                }
+            });
+            return getProgress();
+        } catch (RuntimeException e) {
+            scanRunning.set(false);
+            throw e;
+        }
+    }
+
+    /** 1 ≤ slices ≤ min(샤드 수, max_slices_per_scroll). 샤드 수를 못 읽으면 1 */
+    private int clampSlices(int requested) {
+        int shards;
+        try {
+            SearchResponse<Void> res = es.search(s -> s.index(SRC_INDEX).size(0).trackTotalHits(t -> t.enabled(false)), Void.class);
+            shards = res.shards().total().intValue();
+        } catch (Exception e) {
+            log.warn("Shard count lookup failed, falling back to a single slice", e);
+            shards = 1;
+        }
+        int slices = Math.max(1, Math.min(requested, Math.min(shards, maxSlicesPerScroll)));
+        if (slices != requested) {
+            log.info("Keyword extraction slices clamped. requested={}, shards={}, slices={}", requested, shards, slices);
+        }
+        return slices;
+    }
 
-    public void extractKeywordsForHistory() {
-        log.info("Starting keyword extraction (no Spring Batch)");
+    /**
+     * PIT를 slices개로 나눠(slice id/max) 워커마다 독립 search_after 커서로 병렬 처리
+     */
+    private void extractKeywordsSliced(List<SliceProgress> progresses) {
+        int slices = progresses.size();
+        log.info("Starting sliced keyword extraction. slices={}", slices);
         String pitId = null;
+        ExecutorService workers = Executors.newFixedThreadPool(slices);
 
         try {
-            // 1) Point In Time 생성
-            OpenPointInTimeResponse pit = es.openPointInTime(b -> b
-                    .index(SRC_INDEX)
-                    .keepAlive(Time.of(t -> t.time("5m"))));
-            pitId = pit.id();
+            pitId = openPit();
 
-            List<FieldValue> searchAfter = null;
-            final int size = 500;
-            AtomicLong processed = new AtomicLong();
+            String finalPitId = pitId;
+            List<CompletableFuture<Void>> futures = progresses.stream()
+                    .map(p -> CompletableFuture.runAsync(() -> {
+                        try {
+                            // 슬라이스 1개면 slice 절 없이 전체 스캔
+                            scan(finalPitId, slices < 2 ? null : p.slice, slices, p);
+                        } catch (Exception e) {
+                            p.failed = true;
+                            log.error("Keyword extraction slice {} failed", p.slice, e);
+                        }
+                    }, workers))
+                    .toList();
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
 
-            while (true) {
-                // 2) Search 요청 빌드
-                String finalPitId = pitId;
-                SearchRequest.Builder req = new SearchRequest.Builder()
-                        .size(size)
-                        .pit(p -> p.id(finalPitId).keepAlive(t -> t.time("5m")))
-                        .sort(List.of(
-                                SortOptions.of(o -> o.field(f -> f.field("createdAt").order(SortOrder.Asc))),
-                                SortOptions.of(o -> o.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
-                        ))
-                        .query(q -> q.bool(b -> b
-                                .must(m -> m.matchAll(ma -> ma))
-                                .filter(f -> f.exists(e -> e.field("createdAt")))
-                        ));
-
-                if (searchAfter != null && !searchAfter.isEmpty()) {
-                    req.searchAfter(searchAfter);
+            long total = progresses.stream().mapToLong(p -> p.processed.get()).sum();
+            log.info("Sliced keyword extraction completed. slices={}, processed={}", slices, total);
+
+        } catch (Exception e) {
+            progresses.forEach(p -> p.failed = true);
+            log.error("Sliced keyword extraction failed", e);
+        } finally {
+            workers.shutdown();
+            closePit(pitId);
+        }
+    }
+
+    /** 현재(또는 마지막) 수동 스캔의 슬라이스별 진행 현황 */
+    public List<SliceProgressDto> getProgress() {
+        return currentRun.stream().map(SliceProgress::toDto).toList();
+    }
+
+    /** 마지막 증분 실행의 진행 현황 */
+    public List<SliceProgressDto> getIncrementalProgress() {
+        return incrementalRun.stream().map(SliceProgress::toDto).toList();
+    }
+
+    /**
+     * 단일 커서 루프. sliceId가 null이면 전체, 아니면 해당 슬라이스만 읽는다.
+     */
+    private void scan(String pitId, Integer sliceId, int maxSlices, SliceProgress progress) throws Exception {
+        String tag = sliceId == null ? "all" : String.valueOf(sliceId);
+        Counter hitCounter = meterRegistry.counter("keyword.extract.hits", "slice", tag);
+        Counter writeCounter = meterRegistry.counter("keyword.extract.written", "slice", tag);
+        Timer pageTimer = meterRegistry.timer("keyword.extract.page", "slice", tag);
+
+        List<FieldValue> searchAfter = null;
+
+        while (true) {
+            long pageStart = System.nanoTime();
+
+            // 2) Search 요청 빌드
+            SearchRequest req = buildScanRequest(pitId, fullScanQuery(), sliceId, maxSlices, searchAfter);
+
+            // 3) Elasticsearch 검색 실행
+            SearchResponse<Map> res = es.search(req, Map.class);
+            if (res.hits().hits().isEmpty()) break;
+
+            // 4) 결과 처리 → 키워드 추출 → Bulk 요청 준비
+            List<BulkOperation> ops = new ArrayList<>();
+            res.hits().hits().forEach(hit -> {
+                Map<String, Object> doc = toKeywordDoc(hit.source());
+                if (doc == null) return;
+
+                ops.add(toBulkOperation(doc));
+            });
+
+            // 5) Bulk 저장
+            if (!ops.isEmpty()) {
+                BulkResponse bulkRes = es.bulk(b -> b.operations(ops));
+                if (bulkRes.errors()) {
+                    bulkRes.items().stream()
+                            .filter(it -> it.error() != null)
+                            .limit(10)
+                            .forEach(it -> log.error("Bulk error: {}", it.error().reason()));
                 }
+            }
+
+            int hits = res.hits().hits().size();
+            progress.processed.addAndGet(hits);
+            progress.written.addAndGet(ops.size());
+            progress.pages.incrementAndGet();
+            hitCounter.increment(hits);
+            writeCounter.increment(ops.size());
+            pageTimer.record(System.nanoTime() - pageStart, TimeUnit.NANOSECONDS);
+
+            // 6) 다음 페이지 커서 설정
+            var lastHit = res.hits().hits().get(hits - 1);
+            searchAfter = lastHit.sort();
+            if (searchAfter == null || searchAfter.isEmpty()) break;
+        }
+        progress.finishedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 파이프라인 추출을 백그라운드로 시작하고 초기 진행 현황을 반환 (수동 스캔이 이미 실행 중이면 null).
+     * parallelism은 1..keyword.extract.max-parallelism으로 제한한다.
+     */
+    public List<SliceProgressDto> startPipelined(int requestedParallelism) {
+        if (!scanRunning.compareAndSet(false, true)) {
+            log.info("Keyword extraction scan already running, reject pipelined run");
+            return null;
+        }
+        try {
+            int parallelism = Math.max(1, Math.min(requestedParallelism, maxParallelism));
+            if (parallelism != requestedParallelism) {
+                log.info("Keyword extraction parallelism clamped. requested={}, parallelism={}",
+                        requestedParallelism, parallelism);
+            }
+            SliceProgress progress = new SliceProgress(0);
+            startRun(List.of(progress));
+
+            Thread.ofVirtual().name("keyword-pipelined").start(() -> {
+                try {
+                    extractKeywordsPipelined(parallelism, progress);
+                } finally {
+                    scanRunning.set(false);
+                }
+            });
+            return getProgress();
+        } catch (RuntimeException e) {
+            scanRunning.set(false);
+            throw e;
+        }
+    }
+
+    /**
+     * 읽기 → 추출 → 쓰기 3단계 파이프라인. 단계 사이를 bounded queue로 연결해
+     * 다음 페이지 prefetch / 병렬 추출 / 비동기 bulk가 겹쳐 실행되고, 느린 단계가 앞 단계를 막는다(backpressure).
+     */
+    private void extractKeywordsPipelined(int parallelism, SliceProgress progress) {
+        log.info("Starting pipelined keyword extraction. parallelism={}", parallelism);
+        String pitId = null;
+        ExecutorService stages = Executors.newFixedThreadPool(3);
+        ExecutorService extractPool = Executors.newFixedThreadPool(parallelism);
+        BlockingQueue<List<Map<String, Object>>> pageQueue = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+        BlockingQueue<List<BulkOperation>> writeQueue = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+        AtomicBoolean aborted = new AtomicBoolean();
+
+        try {
+            pitId = openPit();
+
+            String finalPitId = pitId;
+            CompletableFuture.allOf(
+                    runStage(() -> readStage(finalPitId, pageQueue, aborted, progress), stages, aborted),
+                    runStage(() -> extractStage(pageQueue, writeQueue, extractPool, aborted), stages, aborted),
+                    runStage(() -> writeStage(writeQueue, aborted, progress), stages, aborted)
+            ).join();
+            progress.finishedAt = System.currentTimeMillis();
+
+            log.info("Pipelined keyword extraction completed. processed={}, written={}",
+                    progress.processed.get(), progress.written.get());
+
+        } catch (Exception e) {
+            progress.failed = true;
+            log.error("Pipelined keyword extraction failed", e);
+        } finally {
+            stages.shutdownNow();
+            extractPool.shutdownNow();
+            closePit(pitId);
+        }
+    }
+
+    private void readStage(String pitId, BlockingQueue<List<Map<String, Object>>> out,
+                           AtomicBoolean aborted, SliceProgress progress) throws Exception {
+        Timer timer = meterRegistry.timer("keyword.extract.stage", "stage", "read");
+        List<FieldValue> searchAfter = null;
+
+        while (!aborted.get()) {
+            long start = System.nanoTime();
+            SearchResponse<Map> res = es.search(buildScanRequest(pitId, fullScanQuery(), null, 0, searchAfter), Map.class);
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            var hits = res.hits().hits();
+            if (hits.isEmpty()) break;
+
+            List<Map<String, Object>> page = new ArrayList<>(hits.size());
+            for (var hit : hits) {
+                if (hit.source() != null) page.add(hit.source());
+            }
+            progress.processed.addAndGet(hits.size());
+            progress.pages.incrementAndGet();
+            if (!put(out, page, aborted)) return;
+
+            searchAfter = hits.get(hits.size() - 1).sort();
+            if (searchAfter == null || searchAfter.isEmpty()) break;
+        }
+        put(out, END_OF_PAGES, aborted);
+    }
+
+    private void extractStage(BlockingQueue<List<Map<String, Object>>> in, BlockingQueue<List<BulkOperation>> out,
+                              ExecutorService extractPool, AtomicBoolean aborted) throws Exception {
+        Timer timer = meterRegistry.timer("keyword.extract.stage", "stage", "extract");
+
+        while (true) {
+            List<Map<String, Object>> page = take(in, aborted);
+            if (page == null) return;
+            if (page == END_OF_PAGES) break;
+
+            long start = System.nanoTime();
+            List<CompletableFuture<Map<String, Object>>> docs = page.stream()
+                    .map(src -> CompletableFuture.supplyAsync(() -> {
+                        try {
+                            return toKeywordDoc(src);
+                        } catch (Exception e) {
+                            log.warn("Keyword extraction failed for url={}", src.get("url"), e);
+                            return null;
+                        }
+                    }, extractPool))
+                    .toList();
+
+            List<BulkOperation> ops = docs.stream()
+                    .map(CompletableFuture::join)
+                    .filter(Objects::nonNull)
+                    .map(this::toBulkOperation)
+                    .toList();
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (!ops.isEmpty() && !put(out, ops, aborted)) return;
+        }
+        put(out, END_OF_OPS, aborted);
+    }
+
+    private void writeStage(BlockingQueue<List<BulkOperation>> in, AtomicBoolean aborted,
+                            SliceProgress progress) throws Exception {
+        Timer timer = meterRegistry.timer("keyword.extract.stage", "stage", "write");
 
-                // 3) Elasticsearch 검색 실행
-                SearchResponse<Map> res = es.search(req.build(), Map.class);
-                if (res.hits().hits().isEmpty()) break;
+        while (true) {
+            List<BulkOperation> ops = take(in, aborted);
+            if (ops == null || ops == END_OF_OPS) return;
+
+            long start = System.nanoTime();
+            BulkResponse bulkRes = es.bulk(b -> b.operations(ops));
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            if (bulkRes.errors()) {
+                bulkRes.items().stream()
+                        .filter(it -> it.error() != null)
+                        .limit(10)
+                        .forEach(it -> log.error("Bulk error: {}", it.error().reason()));
+            }
+            progress.written.addAndGet(ops.size());
+        }
+    }
+
+    private CompletableFuture<Void> runStage(Stage stage, ExecutorService executor, AtomicBoolean aborted) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                stage.run();
+            } catch (Exception e) {
+                aborted.set(true); // 다른 단계도 멈추도록
+                throw new CompletionException(e);
+            }
+        }, executor);
+    }
+
+    /** 큐가 찰 때까지 대기(backpressure). 중단되면 false */
+    private <T> boolean put(BlockingQueue<T> queue, T item, AtomicBoolean aborted) throws InterruptedException {
+        while (!aborted.get()) {
+            if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) return true;
+        }
+        return false;
+    }
+
+    /** 중단되면 null */
+    private <T> T take(BlockingQueue<T> queue, AtomicBoolean aborted) throws InterruptedException {
+        while (!aborted.get()) {
+            T item = queue.poll(100, TimeUnit.MILLISECONDS);
+            if (item != null) return item;
+        }
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Stage {
+        void run() throws Exception;
+    }
+
+    /**
+     * 증분 추출: 워터마크 이후 문서 + keywords 없는 문서 + 이전 추출기 버전 문서만 처리.
+     * _shard_doc은 PIT 범위에서만 유효하므로 실행 간에는 createdAt 워터마크만 저장한다.
+     */
+    public void extractKeywordsIncremental() {
+        if (!incrementalRunning.compareAndSet(false, true)) {
+            log.info("Incremental keyword extraction already running, skip");
+            return;
+        }
+        String pitId = null;
+
+        try {
+            long watermark = loadWatermark();
+            log.info("Starting incremental keyword extraction. watermark={}, extractorVersion={}",
+                    watermark, TechKeywordExtractor.VERSION);
+
+            pitId = openPit();
+            SliceProgress progress = new SliceProgress(0);
+            incrementalRun = List.of(progress);
+
+            Query query = incrementalQuery(watermark);
+            List<FieldValue> searchAfter = null;
+
+            while (true) {
+                SearchResponse<Map> res = es.search(buildScanRequest(pitId, query, null, 0, searchAfter), Map.class);
+                var hits = res.hits().hits();
+                if (hits.isEmpty()) break;
 
-                // 4) 결과 처리 → 키워드 추출 → Bulk 요청 준비
                 List<BulkOperation> ops = new ArrayList<>();
-                res.hits().hits().forEach(hit -> {
+                int extracted = 0;
+                for (var hit : hits) {
                     Map<String, Object> src = hit.source();
-                    if (src == null) return;
-
-                    String title  = Objects.toString(src.getOrDefault("title", ""), "");
-                    String url    = Objects.toString(src.getOrDefault("url", ""), "");
-                    String source = Objects.toString(src.getOrDefault("source", ""), "");
-                    Instant createdAt = parseInstant(src.get("createdAt"));
-
-                    List<String> keywords = extractor.extractKeywords(title);
-                    if (keywords == null || keywords.isEmpty()) return;
-
-                    Map<String, Object> doc = new HashMap<>();
-                    doc.put("url", url);
-                    doc.put("source", source);
-                    doc.put("createdAt", createdAt == null ? null : createdAt.toString());
-                    doc.put("keywords", keywords);
-
-                    String id = (url == null || url.isBlank()) ? null : url;
-                    ops.add(BulkOperation.of(o -> o.index(i -> i
-                            .index(DEST_INDEX)
-                            .id(id)
-                            .document(doc)
-                    )));
-                });
-
-                // 5) Bulk 저장
+                    if (src == null) continue;
+
+                    // 최신 버전 keywords가 이미 있으면 재사용 (추출 비용 없음)
+                    List<String> keywords = currentKeywords(src);
+                    if (keywords == null) {
+                        keywords = extractor.extractKeywords(Objects.toString(src.getOrDefault("title", ""), ""));
+                        extracted++;
+
+                        Map<String, Object> marker = Map.of(
+                                "keywords", keywords == null ? List.of() : keywords,
+                                "extractor_version", TechKeywordExtractor.VERSION);
+                        ops.add(BulkOperation.of(o -> o.update(u -> u
+                                .index(hit.index()) // alias가 아닌 실제 월별 인덱스
+                                .id(hit.id())
+                                .action(a -> a.doc(marker)))));
+                    }
+                    if (keywords == null || keywords.isEmpty()) continue;
+
+                    ops.add(toBulkOperation(toKeywordDoc(src, keywords)));
+                }
+
                 if (!ops.isEmpty()) {
                     BulkResponse bulkRes = es.bulk(b -> b.operations(ops));
                     if (bulkRes.errors()) {
@@ -109,25 +469,186 @@ public class KeywordExtractService {
                     }
                 }
 
-                processed.addAndGet(res.hits().hits().size());
+                progress.processed.addAndGet(hits.size());
+                progress.written.addAndGet(ops.size());
+                progress.pages.incrementAndGet();
+                meterRegistry.counter("keyword.extract.incremental.extracted").increment(extracted);
 
-                // 6) 다음 페이지 커서 설정
-                var lastHit = res.hits().hits().get(res.hits().hits().size() - 1);
-                searchAfter = lastHit.sort();
+                // createdAt 오름차순이므로 페이지 마지막 hit가 최대값 → 페이지 단위로 워터마크 전진
+                searchAfter = hits.get(hits.size() - 1).sort();
                 if (searchAfter == null || searchAfter.isEmpty()) break;
+                long pageMax = searchAfter.get(0).longValue();
+                if (pageMax > watermark) {
+                    watermark = pageMax;
+                    saveWatermark(watermark);
+                }
             }
+            progress.finishedAt = System.currentTimeMillis();
 
-            log.info("Keyword extraction completed. processed={}", processed.get());
+            log.info("Incremental keyword extraction completed. processed={}, watermark={}",
+                    progress.processed.get(), watermark);
 
         } catch (Exception e) {
-            log.error("Keyword extraction failed", e);
+            log.error("Incremental keyword extraction failed", e);
         } finally {
-            if (pitId != null) {
-                try {
-                    String finalPitId1 = pitId;
-                    es.closePointInTime(c -> c.id(finalPitId1));
-                } catch (Exception ignore) {}
-            }
+            closePit(pitId);
+            incrementalRunning.set(false);
+        }
+    }
+
+    private Query fullScanQuery() {
+        return Query.of(q -> q.bool(b -> b
+                .must(m -> m.matchAll(ma -> ma))
+                .filter(f -> f.exists(e -> e.field("createdAt")))
+        ));
+    }
+
+    private Query incrementalQuery(long watermark) {
+        String gt = String.valueOf(watermark);
+        return Query.of(q -> q.bool(b -> b
+                .filter(f -> f.exists(e -> e.field("createdAt")))
+                .should(sh -> sh.range(r -> r.date(d -> d.field("createdAt").gt(gt).format("epoch_millis"))))
+                // 추출 이력(버전 표시)도 keywords도 없는 문서만. 빈 배열은 exists에서 누락으로 보이므로
+                // 결과가 없던 문서는 버전 표시로 완료를 판단한다
+                .should(sh -> sh.bool(nb -> nb
+                        .mustNot(mn -> mn.exists(e -> e.field("extractor_version")))
+                        .mustNot(mn -> mn.exists(e -> e.field("keywords")))))
+                .should(sh -> sh.range(r -> r.number(n -> n
+                        .field("extractor_version")
+                        .lt((double) TechKeywordExtractor.VERSION))))
+                .minimumShouldMatch("1")
+        ));
+    }
+
+    /**
+     * 현재 버전 기준으로 유효한 keywords, 재추출이 필요하면 null.
+     *  - 현재 버전 표시가 있으면 keywords가 비어 있어도 완료 (빈 결과를 매 실행 재추출하지 않음)
+     *  - 버전 표시가 없으면 수집 시점 추출분이 있을 때만 유효
+     */
+    @SuppressWarnings("unchecked")
+    private List<String> currentKeywords(Map<String, Object> src) {
+        Object version = src.get("extractor_version");
+        Object keywords = src.get("keywords");
+        if (version instanceof Number n) {
+            if (n.intValue() < TechKeywordExtractor.VERSION) return null;
+            return keywords instanceof List<?> list ? (List<String>) list : List.of();
+        }
+        return (keywords instanceof List<?> list && !list.isEmpty()) ? (List<String>) list : null;
+    }
+
+    /** 증분 추출이 끝난 createdAt(epoch millis) — 이 시각 이전 문서의 keywords는 확정으로 본다 */
+    public long extractedThrough() {
+        return loadWatermark();
+    }
+
+    private long loadWatermark() {
+        Object v = redisTemplate.opsForHash().get(WATERMARK_KEY, "createdAt");
+        try {
+            return v == null ? 0L : Long.parseLong(v.toString());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private void saveWatermark(long createdAt) {
+        redisTemplate.opsForHash().put(WATERMARK_KEY, "createdAt", String.valueOf(createdAt));
+        redisTemplate.opsForHash().put(WATERMARK_KEY, "extractorVersion", String.valueOf(TechKeywordExtractor.VERSION));
+    }
+
+    private SearchRequest buildScanRequest(String pitId, Query query, Integer sliceId, int maxSlices,
+                                           List<FieldValue> searchAfter) {
+        SearchRequest.Builder req = new SearchRequest.Builder()
+                .size(SCAN_PAGE_SIZE)
+                .pit(p -> p.id(pitId).keepAlive(t -> t.time("5m")))
+                .sort(List.of(
+                        SortOptions.of(o -> o.field(f -> f.field("createdAt").order(SortOrder.Asc))),
+                        SortOptions.of(o -> o.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                ))
+                .query(query);
+
+        if (sliceId != null) {
+            req.slice(sl -> sl.id(String.valueOf(sliceId)).max(maxSlices));
+        }
+        if (searchAfter != null && !searchAfter.isEmpty()) {
+            req.searchAfter(searchAfter);
+        }
+        return req.build();
+    }
+
+    private String openPit() throws Exception {
+        OpenPointInTimeResponse pit = es.openPointInTime(b -> b
+                .index(SRC_INDEX)
+                .keepAlive(Time.of(t -> t.time("5m"))));
+        return pit.id();
+    }
+
+    private void closePit(String pitId) {
+        if (pitId == null) return;
+        try {
+            es.closePointInTime(c -> c.id(pitId));
+        } catch (Exception ignore) {}
+    }
+
+    private void startRun(List<SliceProgress> progresses) {
+        currentRun = List.copyOf(progresses);
+    }
+
+    /**
+     * raw-posts 원본 → keyword-stats 문서 (키워드 없으면 null)
+     */
+    public Map<String, Object> toKeywordDoc(Map<String, Object> src) {
+        if (src == null) return null;
+
+        String title  = Objects.toString(src.getOrDefault("title", ""), "");
+
+        List<String> keywords = extractor.extractKeywords(title);
+        if (keywords == null || keywords.isEmpty()) return null;
+
+        return toKeywordDoc(src, keywords);
+    }
+
+    private Map<String, Object> toKeywordDoc(Map<String, Object> src, List<String> keywords) {
+        String url    = Objects.toString(src.getOrDefault("url", ""), "");
+        String source = Objects.toString(src.getOrDefault("source", ""), "");
+        Instant createdAt = parseInstant(src.get("createdAt"));
+
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("url", url);
+        doc.put("source", source);
+        doc.put("createdAt", createdAt == null ? null : createdAt.toString());
+        doc.put("keywords", keywords);
+        doc.put("extractor_version", TechKeywordExtractor.VERSION);
+        return doc;
+    }
+
+    public BulkOperation toBulkOperation(Map<String, Object> doc) {
+        String url = Objects.toString(doc.get("url"), "");
+        String id = url.isBlank() ? null : url;
+        return BulkOperation.of(o -> o.index(i -> i
+                .index(DEST_INDEX)
+                .id(id)
+                .document(doc)
+        ));
+    }
+
+    /** 슬라이스 진행 상태 (워커 스레드가 갱신, 조회는 스냅샷) */
+    private static final class SliceProgress {
+        private final int slice;
+        private final long startedAt = System.currentTimeMillis();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicLong pages = new AtomicLong();
+        private volatile long finishedAt;
+        private volatile boolean failed;
+
+        private SliceProgress(int slice) {
+            this.slice = slice;
+        }
+
+        private SliceProgressDto toDto() {
+            long end = finishedAt > 0 ? finishedAt : System.currentTimeMillis();
+            return new SliceProgressDto(slice, processed.get(), written.get(), pages.get(),
+                    finishedAt > 0, failed, end - startedAt);
         }
     }
 
@@ -4,18 +4,31 @@ import co.elastic.clients.elasticsearch.ElasticsearchClient;
 import co.elastic.clients.elasticsearch.core.MgetResponse;
 import co.elastic.clients.elasticsearch.core.mget.MultiGetResponseItem;
 import com.devscoop.api.dto.KeywordRankingDto;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.time.LocalDate;
 import java.time.ZoneId;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -29,9 +42,64 @@ public class KeywordRankingService {
     private static final double SPIKE_SCORE  = 3.0;
     private static final double RISING_SCORE = 1.5;
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final Duration STATS_TTL = Duration.ofDays(2);
+    private static final Duration STATS_TTL_JITTER = Duration.ofHours(6);
+    private static final Stat DEFAULT_STAT = new Stat(0.0, 1.0, 1L);
+    private static final byte[][] STAT_FIELDS = {
+            "mean".getBytes(StandardCharsets.UTF_8),
+            "std".getBytes(StandardCharsets.UTF_8),
+            "count".getBytes(StandardCharsets.UTF_8)
+    };
+
+    private static final RedisScript<List> RANKING_SCRIPT = loadRankingScript();
 
     private final RedisTemplate<String, String> redisTemplate;
     private final ElasticsearchClient esClient;
+    private final MeterRegistry meterRegistry;
+    private final OnlineKeywordStatsService onlineStatsService;
+    private final RedisKeySchema keySchema;
+
+    @Value("${ranking.mode:java}") // java | lua
+    private String rankingMode;
+
+    @Value("${ranking.stats.near-cache.max-size:50000}")
+    private long nearCacheMaxSize;
+
+    @Value("${ranking.stats.near-cache.refresh-after:PT10M}")
+    private Duration nearCacheRefreshAfter;
+
+    /** keyword_stats 로컬 캐시: 크기 제한 + refresh-ahead, 만료/삭제 이벤트로 무효화 */
+    private LoadingCache<StatKey, Stat> statsNearCache;
+
+    @PostConstruct
+    void initStatsNearCache() {
+        statsNearCache = Caffeine.newBuilder()
+                .maximumSize(nearCacheMaxSize)
+                .refreshAfterWrite(nearCacheRefreshAfter)   // 만료 전 백그라운드 재적재
+                .expireAfterWrite(STATS_TTL.plus(STATS_TTL_JITTER)) // Redis 캐시 TTL 이상 보관하지 않음
+                .recordStats()
+                .build(new CacheLoader<StatKey, Stat>() {
+                    @Override
+                    public Stat load(StatKey key) {
+                        return loadAll(Set.of(key)).get(key);
+                    }
+
+                    @Override
+                    public Map<StatKey, Stat> loadAll(Set<? extends StatKey> keys) {
+                        return loadStats(keys);
+                    }
+                });
+        CaffeineCacheMetrics.monitor(meterRegistry, statsNearCache, "keyword_stats_near");
+        // 일 마감이 접히면 z-score 기준이 바뀌므로 즉시 전체 무효화
+        onlineStatsService.addRolloverListener(day -> statsNearCache.invalidateAll());
+    }
+
+    private static RedisScript<List> loadRankingScript() {
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/ranking.lua"));
+        script.setResultType(List.class);
+        return script;
+    }
 
     /**
      * Redis ZSCORE 파이프라인: members 순서 그대로 Double(or null) 리스트 반환
@@ -55,19 +123,28 @@ public class KeywordRankingService {
     }
 
     public List<KeywordRankingDto> getKeywordRanking(String source, int limit) {
-        LocalDate today = LocalDate.now(KST);
-        LocalDate yesterday = today.minusDays(1);
+        return getKeywordRanking(source, RankingWindow.DAY, limit);
+    }
+
+    /**
+     * window 구간 랭킹: 미리 집계된 현재/직전 구간 ZSET만 읽는다 (O(log N + K)).
+     * 일 단위 mean/std는 구간 길이에 맞게 스케일(합의 평균 ×n, 표준편차 ×√n)해서 사용.
+     * ranking.mode=lua여도 구간/통계 출처(온라인 → 캐시 → ES → 기본값)는 같고 계산 위치만 다르다.
+     */
+    public List<KeywordRankingDto> getKeywordRanking(String source, RankingWindow window, int limit) {
+        if ("lua".equals(rankingMode)) return getKeywordRankingLua(source, window, limit);
+        ZonedDateTime now = ZonedDateTime.now(KST);
 
-        // 오늘 top N (조금 넉넉히 가져와서 이후 정렬 후 limit)
-        var todayCounts = fetchKeywordCounts(source, today, Math.max(limit, 20));
+        // 현재 구간 top N (조금 넉넉히 가져와서 이후 정렬 후 limit)
+        var todayCounts = fetchKeywordCounts(window.currentKey(source, now), Math.max(limit, 20));
         var todayKeywords = new ArrayList<>(todayCounts.keySet()); // LinkedHashMap → 순서 보존
 
-        // 어제 점수(오늘 키만 조회)
-        String yKey = "keyword_count:" + source + ":" + yesterday;
-        var yScores = zscoreBatch(yKey, todayKeywords);
+        // 직전 구간 점수(현재 키만 조회)
+        var yScores = zscoreBatch(window.previousKey(source, now), todayKeywords);
 
-        // 통계(mean/std) 벌크 조회 (캐시→ES mget 순)
-        Map<String, Stat> statMap = fetchKeywordStatsBulk(source, new HashSet<>(todayKeywords));
+        // 통계(mean/std) 벌크 조회 (near-cache → Redis 캐시 → ES mget 순)
+        Map<String, Stat> statMap = getStats(source, todayKeywords);
+        double scale = window.statScale();
 
         List<KeywordRankingDto> out = new ArrayList<>();
         for (int i = 0; i < todayKeywords.size(); i++) {
@@ -76,8 +153,8 @@ public class KeywordRankingService {
             int yCnt = (i < yScores.size() && yScores.get(i) != null)
                     ? (int) Math.round(yScores.get(i)) : 0;
 
-            Stat st = statMap.getOrDefault(kw, new Stat(0.0, 1.0, 1L));
-            double score = calcTrendScore(todayCnt, yCnt, st.mean, st.std);
+            Stat st = statMap.getOrDefault(kw, DEFAULT_STAT);
+            double score = calcTrendScore(todayCnt, yCnt, st.mean * scale, st.std * Math.sqrt(scale));
             String badge = resolveBadge(yCnt, score);
 
             out.add(KeywordRankingDto.builder()
@@ -96,11 +173,62 @@ public class KeywordRankingService {
     }
 
     /**
-     * 오늘/특정 날짜의 상위 키워드 카운트 조회 (순서 보존)
+     * Lua 스크립트로 Redis 안에서 점수/배지 계산 → 최종 top-limit만 1회 왕복으로 수신.
+     * 온라인 통계와 통계 캐시는 스크립트가 직접 읽고, 둘 다 없는 키워드가 있으면 스크립트가 그 목록만 돌려준다.
+     * 이때 Java 경로와 같은 ES mget(+캐시 write-back) 후 한 번 더 실행 → 최대 2회 왕복.
      */
-    private Map<String, Integer> fetchKeywordCounts(String source, LocalDate date, int limit) {
-        String key = "keyword_count:" + source + ":" + date;
+    public List<KeywordRankingDto> getKeywordRankingLua(String source, RankingWindow window, int limit) {
+        ZonedDateTime now = ZonedDateTime.now(KST);
+        List<String> keys = List.of(window.currentKey(source, now), window.previousKey(source, now));
+
+        List<Object> rows = runRankingScript(source, keys, window, limit, true);
+        int missing = rows.isEmpty() ? 0 : Integer.parseInt(String.valueOf(rows.get(0)));
+        if (missing > 0) {
+            Set<String> keywords = new HashSet<>();
+            for (int i = 1; i <= missing; i++) keywords.add(String.valueOf(rows.get(i)));
+            fetchKeywordStatsBulk(source, keywords); // 찾은 통계는 캐시에 기록, 없으면 스크립트도 기본값
+            rows = runRankingScript(source, keys, window, limit, false);
+        }
+
+        List<KeywordRankingDto> out = new ArrayList<>(rows.size() / 5);
+        for (int i = 1; i + 4 < rows.size(); i += 5) {
+            String badge = String.valueOf(rows.get(i + 4));
+            out.add(KeywordRankingDto.builder()
+                    .keyword(String.valueOf(rows.get(i)))
+                    .todayCount(Integer.parseInt(String.valueOf(rows.get(i + 1))))
+                    .yesterdayCount(Integer.parseInt(String.valueOf(rows.get(i + 2))))
+                    .score(Double.parseDouble(String.valueOf(rows.get(i + 3))))
+                    .badge(badge.isEmpty() ? null : badge)
+                    .build());
+        }
+        return out;
+    }
+
+    private List<Object> runRankingScript(String source, List<String> keys, RankingWindow window, int limit,
+                                          boolean reportMissing) {
+        boolean compact = keySchema.compact();
+        List<Object> rows = redisTemplate.execute(RANKING_SCRIPT, keys,
+                compact ? RedisKeySchema.STATS_PREFIX + source + ":" : RedisKeySchema.LEGACY_STATS_PREFIX + source + ":",
+                String.valueOf(Math.max(limit, 20) * 2L),
+                String.valueOf(limit),
+                String.valueOf(ALPHA),
+                String.valueOf(EPS),
+                String.valueOf(MAX_Z),
+                String.valueOf(SPIKE_SCORE),
+                String.valueOf(RISING_SCORE),
+                String.valueOf(compact ? keySchema.statsBuckets() : 0),
+                String.valueOf(System.currentTimeMillis() / 1000),
+                onlineStatsService.stateKey(source),
+                String.valueOf(onlineStatsService.minDays()),
+                String.valueOf(window.statScale()),
+                reportMissing ? "1" : "0");
+        return rows == null ? List.of() : rows;
+    }
 
+    /**
+     * 구간 ZSET의 상위 키워드 카운트 조회 (순서 보존)
+     */
+    private Map<String, Integer> fetchKeywordCounts(String key, int limit) {
         Set<ZSetOperations.TypedTuple<String>> tuples =
                 redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit * 2L);
 
@@ -117,36 +245,84 @@ public class KeywordRankingService {
         return result;
     }
 
+    private Map<String, Stat> getStats(String source, List<String> keywords) {
+        List<StatKey> keys = keywords.stream().map(kw -> new StatKey(source, kw)).toList();
+        Map<String, Stat> out = new HashMap<>();
+        statsNearCache.getAll(keys).forEach((k, st) -> out.put(k.keyword(), st));
+        return out;
+    }
+
+    /** near-cache miss/refresh 분을 소스별로 묶어 벌크 조회, 없는 통계는 기본값으로 캐시 */
+    private Map<StatKey, Stat> loadStats(Set<? extends StatKey> keys) {
+        Map<String, Set<String>> bySource = new HashMap<>();
+        for (StatKey k : keys) bySource.computeIfAbsent(k.source(), s -> new HashSet<>()).add(k.keyword());
+
+        Map<StatKey, Stat> loaded = new HashMap<>();
+        bySource.forEach((source, kws) -> {
+            // 1) 수집 경로에서 유지되는 온라인 통계(EWMA) 우선, 관측 일수 부족분만 캐시/ES로
+            Map<String, OnlineKeywordStatsService.State> online = onlineStatsService.getStates(source, new ArrayList<>(kws));
+            online.forEach((kw, st) -> loaded.put(new StatKey(source, kw), new Stat(st.ewMean(), st.ewStd(), st.n())));
+
+            Set<String> rest = new HashSet<>(kws);
+            rest.removeAll(online.keySet());
+            if (rest.isEmpty()) return;
+            Map<String, Stat> stats = fetchKeywordStatsBulk(source, rest);
+            for (String kw : rest) loaded.put(new StatKey(source, kw), stats.getOrDefault(kw, DEFAULT_STAT));
+        });
+        return loaded;
+    }
+
+    /**
+     * keyword_stats:{source}:{keyword} 만료/삭제 시 호출 (다른 노드 포함 일관성 유지)
+     */
+    public void invalidateStats(String source, String keyword) {
+        statsNearCache.invalidate(new StatKey(source, keyword));
+    }
+
     /**
-     * mean/std 통계 벌크 조회: Redis 캐시 → ES mget
+     * compact 레이아웃 kstats:{source}:{bucket} 변경 시 호출: 이벤트에 필드명이 없으므로 같은 버킷 키워드를 모두 무효화
+     */
+    public void invalidateStatsBucket(String source, int bucket) {
+        statsNearCache.asMap().keySet().removeIf(k ->
+                k.source().equals(source) && keySchema.statsBucketOf(k.keyword()) == bucket);
+    }
+
+    /**
+     * mean/std 통계 벌크 조회: Redis 캐시(파이프라인 1회) → ES mget → 캐시 write-back(파이프라인 1회)
      * ES는 mean_7d/std_dev_7d 또는 mean/std_dev 를 모두 지원
      */
     private Map<String, Stat> fetchKeywordStatsBulk(String source, Set<String> keywords) {
+        long start = System.nanoTime();
         Map<String, Stat> result = new HashMap<>();
-        List<Object> fields = List.of("mean", "std", "count");
         List<String> misses = new ArrayList<>();
-
-        // 1) Redis 캐시
-        for (String keyword : keywords) {
-            String rKey = "keyword_stats:" + source + ":" + keyword;
-            List<Object> cached = redisTemplate.opsForHash().multiGet(rKey, fields);
-            if (cached != null && cached.stream().noneMatch(Objects::isNull)) {
-                try {
-                    result.put(keyword, new Stat(
-                            Double.parseDouble(cached.get(0).toString()),
-                            Double.parseDouble(cached.get(1).toString()),
-                            Long.parseLong(cached.get(2).toString())
-                    ));
-                } catch (Exception ignore) {
-                    misses.add(keyword);
-                }
-            } else {
-                misses.add(keyword);
-            }
+        List<String> kwList = new ArrayList<>(keywords);
+
+        // 1) Redis 캐시: 전체 키워드 HMGET(compact는 버킷 HGET)을 한 번에
+        boolean compact = keySchema.compact();
+        List<Object> cachedRows = kwList.isEmpty() ? List.of()
+                : redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+                    var h = conn.hashCommands();
+                    for (String keyword : kwList) {
+                        if (compact) h.hGet(bytes(keySchema.statsBucketKey(source, keyword)), bytes(keyword));
+                        else h.hMGet(bytes(statsKey(source, keyword)), STAT_FIELDS);
+                    }
+                    return null;
+                });
+
+        for (int i = 0; i < kwList.size(); i++) {
+            String keyword = kwList.get(i);
+            Object row = i < cachedRows.size() ? cachedRows.get(i) : null;
+            Stat cached = parseCachedStat(row);
+            if (cached != null) result.put(keyword, cached);
+            else misses.add(keyword);
+        }
+        if (misses.isEmpty()) {
+            statsTimer("warm").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
         }
-        if (misses.isEmpty()) return result;
 
         // 2) ES mget
+        Map<String, Stat> loaded = new HashMap<>();
         try {
             MgetResponse<Map> mget = esClient.mget(m -> m.index("keyword-stats").ids(misses), Map.class);
             for (MultiGetResponseItem<Map> item : mget.docs()) {
@@ -171,24 +347,86 @@ public class KeywordRankingService {
                             : 1L;
                 }
 
-                Stat st = new Stat(mean, std, count);
-                result.put(kw, st);
-
-                // 캐시 저장
-                String rKey = "keyword_stats:" + source + ":" + kw;
-                redisTemplate.opsForHash().put(rKey, "mean", String.valueOf(mean));
-                redisTemplate.opsForHash().put(rKey, "std", String.valueOf(std));
-                redisTemplate.opsForHash().put(rKey, "count", String.valueOf(count));
-                redisTemplate.expire(rKey, Duration.ofDays(2));
+                loaded.put(kw, new Stat(mean, std, count));
             }
+            result.putAll(loaded);
         } catch (Exception e) {
             log.error("[ES][mget] stats fetch failed for source={}, keywords={}", source, misses, e);
-            for (String kw : misses) result.putIfAbsent(kw, new Stat(0.0, 1.0, 1L));
+            for (String kw : misses) result.putIfAbsent(kw, DEFAULT_STAT);
         }
 
+        // 3) 캐시 저장: HSET + EXPIRE 전체를 한 번에
+        if (!loaded.isEmpty()) {
+            try {
+                long nowSec = System.currentTimeMillis() / 1000;
+                redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+                    for (var e : loaded.entrySet()) {
+                        Stat st = e.getValue();
+                        if (compact) {
+                            // 필드 단위 만료는 값에 expireAt으로 기록 (만료분 정리는 RedisLayoutService.sweepExpiredStats)
+                            byte[] k = bytes(keySchema.statsBucketKey(source, e.getKey()));
+                            conn.hashCommands().hSet(k, bytes(e.getKey()),
+                                    bytes(RedisKeySchema.packStat(st.mean(), st.std(), st.count(), nowSec + statsTtlSeconds())));
+                            conn.keyCommands().expire(k, RedisKeySchema.STATS_BUCKET_TTL.toSeconds());
+                            continue;
+                        }
+                        byte[] k = bytes(statsKey(source, e.getKey()));
+                        conn.hashCommands().hMSet(k, Map.of(
+                                bytes("mean"), bytes(String.valueOf(st.mean())),
+                                bytes("std"), bytes(String.valueOf(st.std())),
+                                bytes("count"), bytes(String.valueOf(st.count()))
+                        ));
+                        conn.keyCommands().expire(k, statsTtlSeconds());
+                    }
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("[Redis] stats write-back failed for source={}", source, e);
+            }
+        }
+
+        statsTimer("cold").record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
         return result;
     }
 
+    private Stat parseCachedStat(Object row) {
+        if (row instanceof String packed) {
+            double[] v = RedisKeySchema.unpackStat(packed);
+            if (v == null || v[3] < System.currentTimeMillis() / 1000.0) return null; // 만료된 필드 → miss
+            return new Stat(v[0], v[1], (long) v[2]);
+        }
+        if (!(row instanceof List<?> values) || values.size() < 3 || values.contains(null)) return null;
+        try {
+            return new Stat(
+                    Double.parseDouble(values.get(0).toString()),
+                    Double.parseDouble(values.get(1).toString()),
+                    Long.parseLong(values.get(2).toString())
+            );
+        } catch (Exception ignore) {
+            return null;
+        }
+    }
+
+    private Timer statsTimer(String cache) {
+        return Timer.builder("ranking.stats.fetch")
+                .tag("cache", cache)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /** 같은 시점에 채워진 캐시가 한꺼번에 만료되지 않도록 TTL에 0~STATS_TTL_JITTER 지터 */
+    private static long statsTtlSeconds() {
+        return STATS_TTL.toSeconds() + ThreadLocalRandom.current().nextLong(STATS_TTL_JITTER.toSeconds() + 1);
+    }
+
+    private static String statsKey(String source, String keyword) {
+        return RedisKeySchema.legacyStatsKey(source, keyword);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
     private double asDouble(Map<String, Object> src, String key, double def) {
         Object v = src.get(key);
         return (v instanceof Number n) ? n.doubleValue() : def;
@@ -230,4 +468,6 @@ public class KeywordRankingService {
     }
 
     private record Stat(double mean, double std, long count) {}
+
+    private record StatKey(String source, String keyword) {}
 }
@@ -0,0 +1,107 @@
+package com.devscoop.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+
+/**
+ * 키워드 통계 재계산 작업 큐.
+ * 만료 이벤트는 중복 제거 집합에 넣기만 하고(리스너 스레드 비차단),
+ * 주기적으로 rate limit 만큼 꺼내 배치 단위로 제한된 워커 풀에서 처리한다.
+ */
+@Slf4j
+@Service
+public class KeywordStatRecomputeQueue {
+
+    private final KeywordStatUpdateService statUpdateService;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final ExecutorService workers;
+    private final Semaphore inFlight;
+    private final int maxPending;
+    private final int batchSize;
+    private final int maxPerTick;
+    private final Counter dropped;
+    private final Counter processed;
+    private final Counter failed;
+
+    public KeywordStatRecomputeQueue(KeywordStatUpdateService statUpdateService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${keywords.stats.recompute.workers:2}") int workers,
+                                     @Value("${keywords.stats.recompute.batch-size:200}") int batchSize,
+                                     @Value("${keywords.stats.recompute.max-per-second:500}") int maxPerSecond,
+                                     @Value("${keywords.stats.recompute.interval-ms:2000}") long intervalMs,
+                                     @Value("${keywords.stats.recompute.max-pending:100000}") int maxPending) {
+        this.statUpdateService = statUpdateService;
+        this.workers = Executors.newFixedThreadPool(workers);
+        this.inFlight = new Semaphore(workers);
+        this.batchSize = batchSize;
+        this.maxPerTick = (int) Math.max(1, maxPerSecond * intervalMs / 1000);
+        this.maxPending = maxPending;
+        this.dropped = meterRegistry.counter("keyword.stats.recompute.dropped");
+        this.processed = meterRegistry.counter("keyword.stats.recompute.processed");
+        this.failed = meterRegistry.counter("keyword.stats.recompute.failed");
+        meterRegistry.gauge("keyword.stats.recompute.pending", pending, Set::size);
+    }
+
+    /** 비차단: 이미 대기 중인 키워드는 합쳐지고, 상한 초과 시 버린다 (다음 만료/배치 재계산에서 회복) */
+    public void submit(String keyword) {
+        if (keyword == null || keyword.isBlank()) return;
+        if (pending.size() >= maxPending) {
+            dropped.increment();
+            return;
+        }
+        pending.add(keyword.trim().toLowerCase());
+    }
+
+    @Scheduled(fixedDelayString = "${keywords.stats.recompute.interval-ms:2000}", initialDelay = 5_000)
+    public void drain() {
+        int budget = maxPerTick;
+        while (budget > 0 && !pending.isEmpty()) {
+            // 워커가 모두 바쁘면 이번 주기는 중단 → 대기 키워드는 계속 합쳐진다
+            if (!inFlight.tryAcquire()) return;
+
+            List<String> batch = take(Math.min(batchSize, budget));
+            if (batch.isEmpty()) {
+                inFlight.release();
+                return;
+            }
+            budget -= batch.size();
+            workers.execute(() -> {
+                try {
+                    statUpdateService.updateMeanAndStd(batch);
+                    processed.increment(batch.size());
+                } catch (Exception e) {
+                    failed.increment(batch.size());
+                    log.error("[Stat] recompute batch failed size={}", batch.size(), e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+    }
+
+    private List<String> take(int n) {
+        List<String> batch = new ArrayList<>(n);
+        Iterator<String> it = pending.iterator();
+        while (it.hasNext() && batch.size() < n) {
+            batch.add(it.next());
+            it.remove();
+        }
+        return batch;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+}
@@ -1,16 +1,21 @@
 package com.devscoop.api.service;
 
 import co.elastic.clients.elasticsearch.ElasticsearchClient;
-import co.elastic.clients.elasticsearch.core.UpdateRequest;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @RequiredArgsConstructor
@@ -22,66 +27,176 @@ public class KeywordStatUpdateService {
 
     private static final ZoneId KST = ZoneId.of("Asia/Seoul");
     private static final String KEYWORD_PREFIX = "keyword_count:"; // keyword_count:{source}:{yyyy-MM-dd}
-    private static final List<String> SOURCES = List.of("github", "hackernews", "reddit");
+    private static final String STATS_INDEX = "keyword-stats";
+    private static final List<String> SOURCES = List.of("hackernews", "reddit", "devto");
     private static final int WINDOW_DAYS = 7;
+    private static final int BULK_MAX_OPS = 10_000; // 요청 크기 상한 (일반적인 어휘 크기에선 1회)
+
+    private final AtomicBoolean recomputing = new AtomicBoolean(false);
 
     /** 최근 7일(keyword별, 소스 합계)의 mean/std_dev을 keyword-stats에 upsert */
     public void updateMeanAndStd(String rawKeyword) {
+        String keyword = (rawKeyword == null ? "" : rawKeyword.trim().toLowerCase());
+        if (keyword.isEmpty()) {
+            log.warn("[Stat] empty keyword");
+            return;
+        }
         try {
-            String keyword = (rawKeyword == null ? "" : rawKeyword.trim().toLowerCase());
-            if (keyword.isEmpty()) {
-                log.warn("[Stat] empty keyword");
-                return;
-            }
+            updateMeanAndStd(List.of(keyword));
+        } catch (Exception e) {
+            log.error("[ES] Failed to update mean/std for '{}'", rawKeyword, e);
+        }
+    }
 
-            LocalDate today = LocalDate.now(KST);
-            List<Integer> dailyTotals = new ArrayList<>(WINDOW_DAYS);
+    /**
+     * 여러 키워드 일괄 갱신: (키워드 × 7일 × 소스) ZSCORE 파이프라인 1회 + ES bulk 1회
+     */
+    public void updateMeanAndStd(List<String> keywords) throws Exception {
+        if (keywords.isEmpty()) return;
 
+        // 날짜 오래된 순, 소스 순
+        List<String> keys = dayKeys(LocalDate.now(KST));
+        List<Object> scores = redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+            StringRedisConnection c = (StringRedisConnection) conn;
+            for (String keyword : keywords) {
+                for (String key : keys) c.zScore(key, keyword);
+            }
+            return null;
+        });
+
+        long now = Instant.now().toEpochMilli();
+        int[] dailyTotals = new int[WINDOW_DAYS];
+        List<BulkOperation> ops = new ArrayList<>(keywords.size());
+        for (int k = 0; k < keywords.size(); k++) {
             // 날짜별 합계(모든 소스 합산). 0도 포함해서 '없던 날'을 반영.
-            for (int i = WINDOW_DAYS - 1; i >= 0; i--) {
-                LocalDate d = today.minusDays(i);
-                int sum = 0;
-                for (String source : SOURCES) {
-                    String redisKey = KEYWORD_PREFIX + source + ":" + d; // e.g. keyword_count:hackernews:2025-08-09
-                    Double score = redisTemplate.opsForZSet().score(redisKey, keyword);
-                    if (score != null) sum += score.intValue();
-                }
-                dailyTotals.add(sum);
+            Arrays.fill(dailyTotals, 0);
+            int base = k * keys.size();
+            for (int i = 0; i < keys.size() && base + i < scores.size(); i++) {
+                if (scores.get(base + i) instanceof Double score) dailyTotals[i / SOURCES.size()] += score.intValue();
             }
 
-            double mean = calculateMean(dailyTotals);
-            double stdDev = calculateStdDev(dailyTotals, mean);
+            double mean = calculateMean(dailyTotals, 0);
+            double stdDev = calculateStdDev(dailyTotals, 0, mean);
+            String id = keywords.get(k);
+            Map<String, Object> doc = statDoc(mean, stdDev, now);
+            ops.add(BulkOperation.of(b -> b.update(u -> u
+                    .index(STATS_INDEX)
+                    .id(id)
+                    .action(a -> a.doc(doc).docAsUpsert(true)))));
+        }
+        flush(ops);
+        log.info("[ES] Updated 7d mean/std for {} keywords", keywords.size());
+    }
 
-            Map<String, Object> doc = new HashMap<>();
-            doc.put("mean_7d", mean);
-            doc.put("std_dev_7d", stdDev);
-            doc.put("window_days", WINDOW_DAYS);
-            doc.put("last_updated", Instant.now().toEpochMilli());
+    /**
+     * 전체 어휘 일괄 재계산: 일자×소스 ZSET을 ZRANGE WITHSCORES로 한 번씩만 읽고(파이프라인 1회),
+     * keyword × day 원시 배열에서 mean/std를 계산해 ES bulk로 기록한다.
+     *
+     * @return 갱신된 키워드 수 (이미 실행 중이면 -1)
+     */
+    public int recomputeAll() {
+        if (!recomputing.compareAndSet(false, true)) {
+            log.info("[Stat] recompute already running, skip");
+            return -1;
+        }
+        long started = System.currentTimeMillis();
+        try {
+            List<String> keys = dayKeys(LocalDate.now(KST));
+            List<Object> ranges = redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+                StringRedisConnection c = (StringRedisConnection) conn;
+                for (String key : keys) c.zRangeWithScores(key, 0, -1);
+                return null;
+            });
 
-            UpdateRequest<Map<String, Object>, Map<String, Object>> request = UpdateRequest.of(u -> u
-                    .index("keyword-stats")
-                    .id(keyword)
-                    .doc(doc)
-                    .docAsUpsert(true)
-            );
+            // keyword → index, counts[index * WINDOW_DAYS + day]
+            Map<String, Integer> index = new HashMap<>();
+            int[] counts = new int[1024 * WINDOW_DAYS];
+            for (int k = 0; k < ranges.size(); k++) {
+                if (!(ranges.get(k) instanceof Set<?> tuples)) continue;
+                int day = k / SOURCES.size();
+                for (Object o : tuples) {
+                    ZSetOperations.TypedTuple<?> t = (ZSetOperations.TypedTuple<?>) o;
+                    if (t.getValue() == null || t.getScore() == null) continue;
+                    int idx = index.computeIfAbsent(String.valueOf(t.getValue()), kw -> index.size());
+                    if ((idx + 1) * WINDOW_DAYS > counts.length) counts = Arrays.copyOf(counts, counts.length * 2);
+                    counts[idx * WINDOW_DAYS + day] += t.getScore().intValue();
+                }
+            }
+
+            int vocab = index.size();
+            String[] keywords = new String[vocab];
+            index.forEach((kw, i) -> keywords[i] = kw);
 
-            esClient.update(request, Map.class);
-            log.info("[ES] Updated 7d mean/std for '{}': mean={}, std={}", keyword, mean, stdDev);
+            long now = Instant.now().toEpochMilli();
+            List<BulkOperation> ops = new ArrayList<>(Math.min(vocab, BULK_MAX_OPS));
+            for (int i = 0; i < vocab; i++) {
+                int offset = i * WINDOW_DAYS;
+                double mean = calculateMean(counts, offset);
+                double stdDev = calculateStdDev(counts, offset, mean);
+                String id = keywords[i];
+                Map<String, Object> doc = statDoc(mean, stdDev, now);
+                ops.add(BulkOperation.of(b -> b.update(u -> u
+                        .index(STATS_INDEX)
+                        .id(id)
+                        .action(a -> a.doc(doc).docAsUpsert(true)))));
+                if (ops.size() >= BULK_MAX_OPS) {
+                    flush(ops);
+                    ops = new ArrayList<>(BULK_MAX_OPS);
+                }
+            }
+            flush(ops);
 
+            log.info("[Stat] recomputed 7d mean/std for {} keywords in {}ms",
+                    vocab, System.currentTimeMillis() - started);
+            return vocab;
         } catch (Exception e) {
-            log.error("[ES] Failed to update mean/std for '{}'", rawKeyword, e);
+            log.error("[Stat] whole-vocabulary recompute failed", e);
+            throw new IllegalStateException("keyword stats recompute failed", e);
+        } finally {
+            recomputing.set(false);
+        }
+    }
+
+    private void flush(List<BulkOperation> ops) throws Exception {
+        if (ops.isEmpty()) return;
+        BulkResponse resp = esClient.bulk(b -> b.operations(ops));
+        if (resp.errors()) {
+            long failed = resp.items().stream().filter(it -> it.error() != null).count();
+            log.warn("[Stat] bulk had {} failed items of {}", failed, ops.size());
+        }
+    }
+
+    /** 오래된 날짜부터, 날짜마다 SOURCES 순서 */
+    private List<String> dayKeys(LocalDate today) {
+        List<String> keys = new ArrayList<>(WINDOW_DAYS * SOURCES.size());
+        for (int i = WINDOW_DAYS - 1; i >= 0; i--) {
+            LocalDate d = today.minusDays(i);
+            for (String source : SOURCES) keys.add(KEYWORD_PREFIX + source + ":" + d); // e.g. keyword_count:hackernews:2025-08-09
         }
+        return keys;
     }
 
-    private double calculateMean(List<Integer> values) {
-        return values.stream().mapToInt(i -> i).average().orElse(0.0);
+    private Map<String, Object> statDoc(double mean, double stdDev, long updatedAt) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("mean_7d", mean);
+        doc.put("std_dev_7d", stdDev);
+        doc.put("window_days", WINDOW_DAYS);
+        doc.put("last_updated", updatedAt);
+        return doc;
     }
 
-    private double calculateStdDev(List<Integer> values, double mean) {
-        double variance = values.stream()
-                .mapToDouble(v -> Math.pow(v - mean, 2))
-                .average()
-                .orElse(0.0);
-        return Math.sqrt(variance);
+    private double calculateMean(int[] values, int offset) {
+        long sum = 0;
+        for (int d = 0; d < WINDOW_DAYS; d++) sum += values[offset + d];
+        return (double) sum / WINDOW_DAYS;
+    }
+
+    private double calculateStdDev(int[] values, int offset, double mean) {
+        double variance = 0;
+        for (int d = 0; d < WINDOW_DAYS; d++) {
+            double diff = values[offset + d] - mean;
+            variance += diff * diff;
+        }
+        return Math.sqrt(variance / WINDOW_DAYS);
     }
 }
@@ -0,0 +1,76 @@
+package com.devscoop.api.service;
+
+import com.devscoop.api.dto.KeywordSuggestionDto;
+import com.devscoop.api.index.PrefixIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 키워드 자동완성: keyword_count ZSET(최근 30일 롤업) 가중치로 만든 in-process prefix 인덱스.
+ * 주기적으로 새 인덱스를 만들어 volatile 참조만 교체 → 읽기는 락 없이 ES 미사용.
+ */
+@Slf4j
+@Service
+public class KeywordSuggestService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final int topK;
+
+    private volatile PrefixIndex index = PrefixIndex.empty();
+
+    public KeywordSuggestService(RedisTemplate<String, String> redisTemplate,
+                                 @Value("${suggest.top-k:10}") int topK) {
+        this.redisTemplate = redisTemplate;
+        this.topK = topK;
+    }
+
+    public List<KeywordSuggestionDto> suggest(String prefix, int limit) {
+        return index.suggest(prefix, limit).stream()
+                .map(s -> new KeywordSuggestionDto(s.keyword(), s.weight()))
+                .toList();
+    }
+
+    // 5분마다 재빌드 (앱 시작 직후 1회)
+    @Scheduled(fixedDelayString = "${suggest.rebuild-interval-ms:300000}", initialDelay = 1_000)
+    public void rebuild() {
+        try {
+            long start = System.currentTimeMillis();
+            ZonedDateTime now = ZonedDateTime.now(KST);
+
+            // 30일 롤업이 아직 없으면(첫 롤업 전) 오늘 일별 키로 대체
+            Map<String, Long> weighted = readWeights(RankingWindow.MONTH.currentKey("all", now));
+            if (weighted.isEmpty()) weighted = readWeights(RankingWindow.DAY.currentKey("all", now));
+            if (weighted.isEmpty() && index.size() > 0) return; // 일시적 공백이면 기존 인덱스 유지
+
+            PrefixIndex rebuilt = PrefixIndex.build(weighted, topK);
+            index = rebuilt;
+            log.info("[Suggest] rebuilt prefix index: {} keywords in {}ms",
+                    rebuilt.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("[Suggest] prefix index rebuild failed", e);
+        }
+    }
+
+    private Map<String, Long> readWeights(String key) {
+        Set<ZSetOperations.TypedTuple<String>> tuples = redisTemplate.opsForZSet().rangeWithScores(key, 0, -1);
+        Map<String, Long> out = new HashMap<>();
+        if (tuples == null) return out;
+        for (var t : tuples) {
+            if (t.getValue() != null && t.getScore() != null) out.put(t.getValue(), t.getScore().longValue());
+        }
+        return out;
+    }
+}
@@ -0,0 +1,235 @@
+package com.devscoop.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * 키워드×소스 일별 카운트의 온라인 통계.
+ * 마감된 일 버킷(keyword_count:{source}:{date})을 하루 한 번 접어서(Welford + EWMA) 상태를 갱신하므로
+ * 조회 시 7일치 ZSET을 다시 읽을 필요가 없다.
+ *
+ * 저장: keyword_online:{source} (hash) field=keyword, value="n:mean:m2:ewMean:ewVar"
+ *       + 예약 필드 DAY_FIELD = 이 소스에 마지막으로 접은 날짜 (상태 갱신과 같은 MULTI로 기록)
+ */
+@Slf4j
+@Service
+public class OnlineKeywordStatsService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String STATE_PREFIX = "keyword_online:";
+    private static final String DAY_KEY = "keyword_online:day";      // 모든 소스를 접은 마지막 날짜 (요약)
+    private static final String DAY_FIELD = "__folded_day";          // 소스별 체크포인트 (키워드와 겹치지 않는 이름)
+    private static final String LOCK_KEY = "keyword_online:lock";
+    // 내 토큰일 때만 해제 (만료 후 다른 노드가 잡은 락을 지우지 않도록)
+    private static final RedisScript<Long> UNLOCK_SCRIPT = RedisScript.of(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then return redis.call('DEL', KEYS[1]) else return 0 end",
+            Long.class);
+    private static final List<String> SOURCES = List.of("all", "hackernews", "reddit", "devto");
+    private static final int SEED_DAYS = 7;                          // 최초 실행 시 접을 과거 일수
+    private static final double PRUNE_EWMA = 0.01;                   // 사실상 사라진 키워드 정리 기준
+    private static final int WRITE_BATCH = 1000;
+
+    private final StringRedisTemplate redisTemplate;
+    private final double alpha;
+    private final int minDays;
+    private final List<Consumer<LocalDate>> rolloverListeners = new ArrayList<>();
+
+    private volatile String lastSeenDay;
+
+    public OnlineKeywordStatsService(StringRedisTemplate redisTemplate,
+                                     @Value("${ranking.stats.online.half-life-days:7}") double halfLifeDays,
+                                     @Value("${ranking.stats.online.min-days:3}") int minDays) {
+        this.redisTemplate = redisTemplate;
+        this.alpha = 1 - Math.pow(2, -1 / halfLifeDays); // 반감기 h일 → 일 단위 평활 계수
+        this.minDays = minDays;
+    }
+
+    /** 온라인 통계 상태 (ewMean/ewVar는 반감기 가중, mean/m2는 전 기간 Welford) */
+    public record State(long n, double mean, double m2, double ewMean, double ewVar) {
+        static final State EMPTY = new State(0, 0, 0, 0, 0);
+
+        State observe(double x, double alpha) {
+            long n1 = n + 1;
+            double d = x - mean;
+            double mean1 = mean + d / n1;
+            double m21 = m2 + d * (x - mean1);
+
+            if (n == 0) return new State(n1, mean1, m21, x, 0);
+            double ed = x - ewMean;
+            double incr = alpha * ed;
+            return new State(n1, mean1, m21, ewMean + incr, (1 - alpha) * (ewVar + ed * incr));
+        }
+
+        public double std() {
+            return n > 1 ? Math.sqrt(m2 / n) : 0.0;
+        }
+
+        public double ewStd() {
+            return Math.sqrt(Math.max(ewVar, 0.0));
+        }
+
+        String encode() {
+            return n + ":" + (float) mean + ":" + (float) m2 + ":" + (float) ewMean + ":" + (float) ewVar;
+        }
+
+        static State decode(String s) {
+            if (s == null) return null;
+            String[] p = s.split(":");
+            if (p.length != 5) return null;
+            try {
+                return new State(Long.parseLong(p[0]), Double.parseDouble(p[1]), Double.parseDouble(p[2]),
+                        Double.parseDouble(p[3]), Double.parseDouble(p[4]));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+    }
+
+    /** 소스별 상태 해시 키 (필드 = 키워드, 값 = State.encode). ranking.lua가 같은 규칙으로 직접 읽는다 */
+    public String stateKey(String source) {
+        return STATE_PREFIX + source;
+    }
+
+    public int minDays() {
+        return minDays;
+    }
+
+    /** 일 마감이 반영될 때마다 호출 (near-cache 무효화 등) */
+    public void addRolloverListener(Consumer<LocalDate> listener) {
+        rolloverListeners.add(listener);
+    }
+
+    /**
+     * 키워드들의 상태를 HMGET 1회로 조회. 관측 일수가 min-days 미만이면 결과에서 제외.
+     */
+    public Map<String, State> getStates(String source, List<String> keywords) {
+        if (keywords.isEmpty()) return Map.of();
+        List<Object> raw = redisTemplate.opsForHash().multiGet(stateKey(source), new ArrayList<>(keywords));
+
+        Map<String, State> out = new HashMap<>();
+        for (int i = 0; i < keywords.size() && i < raw.size(); i++) {
+            State st = State.decode((String) raw.get(i));
+            if (st != null && st.n() >= minDays) out.put(keywords.get(i), st);
+        }
+        return out;
+    }
+
+    // 5초마다 날짜 변경 확인 → 마감된 날을 접고, 다른 노드가 접었으면 리스너만 호출
+    @Scheduled(fixedDelayString = "${ranking.stats.online.check-interval-ms:5000}", initialDelay = 5_000)
+    public void checkRollover() {
+        try {
+            LocalDate closed = LocalDate.now(KST).minusDays(1);
+            String folded = redisTemplate.opsForValue().get(DAY_KEY);
+
+            if (folded == null || LocalDate.parse(folded).isBefore(closed)) {
+                String token = UUID.randomUUID().toString();
+                Boolean locked = redisTemplate.opsForValue().setIfAbsent(LOCK_KEY, token, Duration.ofMinutes(5));
+                if (!Boolean.TRUE.equals(locked)) return;
+                try {
+                    // 소스별 체크포인트가 이미 지난 날은 fold에서 건너뜀 → 중간 실패/락 만료 후 재시도해도 이중 반영 없음
+                    LocalDate from = folded == null ? closed.minusDays(SEED_DAYS - 1) : LocalDate.parse(folded).plusDays(1);
+                    for (LocalDate d = from; !d.isAfter(closed); d = d.plusDays(1)) fold(d);
+                    folded = closed.toString();
+                    redisTemplate.opsForValue().set(DAY_KEY, folded);
+                    redisTemplate.opsForValue().increment(RankingSnapshotService.VERSION_KEY); // 스냅샷 재계산 유도
+                } finally {
+                    redisTemplate.execute(UNLOCK_SCRIPT, List.of(LOCK_KEY), token);
+                }
+            }
+
+            if (!folded.equals(lastSeenDay)) {
+                lastSeenDay = folded;
+                LocalDate day = LocalDate.parse(folded);
+                rolloverListeners.forEach(l -> l.accept(day));
+            }
+        } catch (Exception e) {
+            log.error("[OnlineStats] rollover check failed", e);
+        }
+    }
+
+    /** 하루치 버킷을 모든 키워드 상태에 반영 (그날 등장하지 않은 키워드는 0으로 관측) */
+    private void fold(LocalDate day) {
+        for (String source : SOURCES) {
+            long start = System.currentTimeMillis();
+            Boolean applied = redisTemplate.execute(new SessionCallback<Boolean>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Boolean execute(RedisOperations operations) {
+                    return foldSource((RedisOperations<String, String>) operations, source, day);
+                }
+            });
+            if (Boolean.TRUE.equals(applied)) {
+                log.info("[OnlineStats] folded source={} day={} in {}ms", source, day, System.currentTimeMillis() - start);
+            }
+        }
+    }
+
+    /**
+     * 상태 해시를 WATCH한 채 읽고 갱신 + 체크포인트를 MULTI/EXEC로 기록.
+     * 이미 접은 날이거나 다른 노드가 먼저 썼으면(EXEC 취소) false.
+     */
+    private Boolean foldSource(RedisOperations<String, String> ops, String source, LocalDate day) {
+        String stateKey = STATE_PREFIX + source;
+        ops.watch(stateKey);
+
+        Map<Object, Object> current = ops.opsForHash().entries(stateKey);
+        Object foldedDay = current.remove(DAY_FIELD);
+        if (foldedDay != null && !LocalDate.parse((String) foldedDay).isBefore(day)) {
+            ops.unwatch();
+            return false;
+        }
+
+        Map<String, Double> counts = new HashMap<>();
+        Set<ZSetOperations.TypedTuple<String>> tuples = ops.opsForZSet()
+                .rangeWithScores(RankingWindow.dayKey(source, day), 0, -1);
+        if (tuples != null) {
+            for (var t : tuples) {
+                if (t.getValue() != null && t.getScore() != null) counts.put(t.getValue(), t.getScore());
+            }
+        }
+
+        Map<String, String> updates = new HashMap<>();
+        List<String> pruned = new ArrayList<>();
+        for (var e : current.entrySet()) {
+            String kw = (String) e.getKey();
+            State st = Optional.ofNullable(State.decode((String) e.getValue())).orElse(State.EMPTY);
+            State next = st.observe(counts.getOrDefault(kw, 0.0), alpha);
+            if (!counts.containsKey(kw) && next.ewMean() < PRUNE_EWMA) pruned.add(kw);
+            else updates.put(kw, next.encode());
+        }
+        for (var e : counts.entrySet()) {
+            if (!current.containsKey(e.getKey())) updates.put(e.getKey(), State.EMPTY.observe(e.getValue(), alpha).encode());
+        }
+
+        ops.multi();
+        List<Map.Entry<String, String>> entries = new ArrayList<>(updates.entrySet());
+        for (int i = 0; i < entries.size(); i += WRITE_BATCH) {
+            Map<String, String> batch = new HashMap<>();
+            for (var e : entries.subList(i, Math.min(i + WRITE_BATCH, entries.size()))) batch.put(e.getKey(), e.getValue());
+            ops.opsForHash().putAll(stateKey, batch);
+        }
+        if (!pruned.isEmpty()) ops.opsForHash().delete(stateKey, pruned.toArray());
+        ops.opsForHash().put(stateKey, DAY_FIELD, day.toString());
+        List<Object> result = ops.exec();
+
+        if (result == null || result.isEmpty()) {
+            log.warn("[OnlineStats] fold of source={} day={} aborted by concurrent write", source, day);
+            return false;
+        }
+        log.debug("[OnlineStats] source={} day={} keywords={} pruned={}", source, day, updates.size(), pruned.size());
+        return true;
+    }
+}
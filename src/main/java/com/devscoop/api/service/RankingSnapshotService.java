@@ -0,0 +1,159 @@
+package com.devscoop.api.service;
+
+import com.devscoop.api.dto.KeywordRankingDto;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 소스별 top-K 랭킹을 주기적으로(또는 카운트 변경 시) 미리 계산해 불변 스냅샷으로 보관.
+ * 한 노드만 계산(Redis 락)하고 결과를 Redis에 미러링 → 다른 노드는 읽어서 교체.
+ */
+@Slf4j
+@Service
+public class RankingSnapshotService {
+
+    public static final String VERSION_KEY = "ranking:version";          // RedisPostConsumer가 증가
+    private static final String SNAPSHOT_KEY = "ranking_snapshot";       // hash: source → JSON, computedAt, version
+    private static final String LOCK_KEY = "ranking_snapshot:lock";
+    private static final List<String> SOURCES = List.of("all", "hackernews", "reddit", "devto");
+
+    private final KeywordRankingService keywordRankingService;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Timer recomputeTimer;
+    private final int topK;
+    private final long maxAgeMs;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public RankingSnapshotService(KeywordRankingService keywordRankingService,
+                                  RedisTemplate<String, String> redisTemplate,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${ranking.snapshot.top-k:50}") int topK,
+                                  @Value("${ranking.snapshot.max-age-ms:60000}") long maxAgeMs) {
+        this.keywordRankingService = keywordRankingService;
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.topK = topK;
+        this.maxAgeMs = maxAgeMs;
+        this.recomputeTimer = meterRegistry.timer("ranking.snapshot.recompute");
+        Gauge.builder("ranking.snapshot.age.seconds", this,
+                        s -> s.snapshot.computedAt() == 0 ? Double.NaN
+                                : (System.currentTimeMillis() - s.snapshot.computedAt()) / 1000.0)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 스냅샷은 일 단위 랭킹만 보관. 다른 구간은 미리 집계된 구간 키에서 바로 계산
+     */
+    public List<KeywordRankingDto> getRanking(String source, RankingWindow window, int limit) {
+        if (window != RankingWindow.DAY) return keywordRankingService.getKeywordRanking(source, window, limit);
+        return getRanking(source, limit);
+    }
+
+    /**
+     * 스냅샷에서 lock-free로 읽고, 없는 소스/큰 limit만 실시간 계산
+     */
+    public List<KeywordRankingDto> getRanking(String source, int limit) {
+        List<KeywordRankingDto> ranked = snapshot.bySource().get(source);
+        if (ranked != null && limit <= topK) {
+            return ranked.size() <= limit ? ranked : ranked.subList(0, limit);
+        }
+        return keywordRankingService.getKeywordRanking(source, limit);
+    }
+
+    // 5초마다 변경 여부 확인 → 카운트가 바뀌었거나 max-age 초과 시 재계산
+    @Scheduled(fixedDelayString = "${ranking.snapshot.check-interval-ms:5000}", initialDelay = 5_000)
+    public void refresh() {
+        try {
+            long version = currentVersion();
+            boolean stale = System.currentTimeMillis() - snapshot.computedAt() >= maxAgeMs;
+            if (!stale && version == snapshot.version()) return;
+
+            // 다른 노드가 이미 계산했으면 미러에서 가져오기
+            if (loadMirror(version)) return;
+
+            Boolean locked = redisTemplate.opsForValue()
+                    .setIfAbsent(LOCK_KEY, "1", Duration.ofSeconds(30));
+            if (!Boolean.TRUE.equals(locked)) return;
+            try {
+                recompute(version);
+            } finally {
+                redisTemplate.delete(LOCK_KEY);
+            }
+        } catch (Exception e) {
+            log.error("[Ranking] snapshot refresh failed", e);
+        }
+    }
+
+    private void recompute(long version) throws Exception {
+        long start = System.nanoTime();
+        Map<String, List<KeywordRankingDto>> bySource = new HashMap<>();
+        for (String source : SOURCES) {
+            bySource.put(source, List.copyOf(keywordRankingService.getKeywordRanking(source, topK)));
+        }
+        long elapsed = System.nanoTime() - start;
+        recomputeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        Snapshot next = new Snapshot(Map.copyOf(bySource), System.currentTimeMillis(), version);
+        snapshot = next;
+
+        Map<String, String> mirror = new HashMap<>();
+        for (var e : next.bySource().entrySet()) {
+            mirror.put(e.getKey(), objectMapper.writeValueAsString(e.getValue()));
+        }
+        mirror.put("computedAt", String.valueOf(next.computedAt()));
+        mirror.put("version", String.valueOf(version));
+        redisTemplate.opsForHash().putAll(SNAPSHOT_KEY, mirror);
+
+        log.info("[Ranking] snapshot recomputed version={} in {}ms", version, TimeUnit.NANOSECONDS.toMillis(elapsed));
+    }
+
+    private boolean loadMirror(long version) {
+        Map<Object, Object> raw = redisTemplate.opsForHash().entries(SNAPSHOT_KEY);
+        if (raw.isEmpty()) return false;
+        try {
+            long computedAt = Long.parseLong(String.valueOf(raw.get("computedAt")));
+            long mirrorVersion = Long.parseLong(String.valueOf(raw.get("version")));
+            if (mirrorVersion < version || System.currentTimeMillis() - computedAt >= maxAgeMs) return false;
+            if (computedAt <= snapshot.computedAt()) return true; // 이미 최신
+
+            Map<String, List<KeywordRankingDto>> bySource = new HashMap<>();
+            for (String source : SOURCES) {
+                Object json = raw.get(source);
+                if (json == null) continue;
+                bySource.put(source, List.copyOf(objectMapper.readValue(json.toString(),
+                        new TypeReference<List<KeywordRankingDto>>() {})));
+            }
+            snapshot = new Snapshot(Map.copyOf(bySource), computedAt, mirrorVersion);
+            return true;
+        } catch (Exception e) {
+            log.warn("[Ranking] failed to load mirrored snapshot", e);
+            return false;
+        }
+    }
+
+    private long currentVersion() {
+        String v = redisTemplate.opsForValue().get(VERSION_KEY);
+        return v == null ? 0L : Long.parseLong(v);
+    }
+
+    private record Snapshot(Map<String, List<KeywordRankingDto>> bySource, long computedAt, long version) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), 0L, -1L);
+    }
+}
@@ -0,0 +1,97 @@
+package com.devscoop.api.service;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 랭킹 집계 구간. 현재/직전 구간의 ZSET 키와 일 단위 통계 스케일을 정의한다.
+ *  - hour: keyword_count:{source}:{yyyy-MM-dd'T'HH} (수집 시 증가)
+ *  - day : keyword_count:{source}:{yyyy-MM-dd}      (수집 시 증가)
+ *  - 7d/30d: keyword_count:{source}:{7d|30d}[:prev] (일별 키를 주기적으로 ZUNIONSTORE)
+ */
+public enum RankingWindow {
+    HOUR("hour", 0),
+    DAY("day", 1),
+    WEEK("7d", 7),
+    MONTH("30d", 30);
+
+    public static final String KEY_PREFIX = "keyword_count:";
+    private static final DateTimeFormatter HOUR_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH");
+
+    private final String param;
+    private final int days;
+
+    RankingWindow(String param, int days) {
+        this.param = param;
+        this.days = days;
+    }
+
+    public String param() {
+        return param;
+    }
+
+    /** 롤업 구간 일수 (hour는 0) */
+    public int days() {
+        return days;
+    }
+
+    /** 일 단위 mean/std를 이 구간 길이에 맞추는 배수 */
+    public double statScale() {
+        return this == HOUR ? 1.0 / 24 : days;
+    }
+
+    public boolean isRollup() {
+        return this == WEEK || this == MONTH;
+    }
+
+    public String currentKey(String source, ZonedDateTime now) {
+        return switch (this) {
+            case HOUR -> hourKey(source, now);
+            case DAY -> dayKey(source, now.toLocalDate());
+            default -> KEY_PREFIX + source + ":" + param;
+        };
+    }
+
+    public String previousKey(String source, ZonedDateTime now) {
+        return switch (this) {
+            case HOUR -> hourKey(source, now.minusHours(1));
+            case DAY -> dayKey(source, now.toLocalDate().minusDays(1));
+            default -> KEY_PREFIX + source + ":" + param + ":prev";
+        };
+    }
+
+    /** 롤업 대상 일별 키: offset=0이면 오늘 포함 최근 days일, offset=days면 그 직전 구간 */
+    public List<String> dayKeys(String source, LocalDate today, int offset) {
+        return IntStream.range(offset, offset + days)
+                .mapToObj(i -> dayKey(source, today.minusDays(i)))
+                .toList();
+    }
+
+    /** 근사 집계(스케치) 버킷 id: hour → yyyy-MM-dd'T'HH, day → yyyy-MM-dd */
+    public String bucketId(ZonedDateTime time) {
+        return switch (this) {
+            case HOUR -> time.format(HOUR_FORMAT);
+            case DAY -> time.toLocalDate().toString();
+            default -> throw new IllegalArgumentException("No bucket for rollup window: " + param);
+        };
+    }
+
+    public static String dayKey(String source, LocalDate date) {
+        return KEY_PREFIX + source + ":" + date;
+    }
+
+    public static String hourKey(String source, ZonedDateTime time) {
+        return KEY_PREFIX + source + ":" + time.format(HOUR_FORMAT);
+    }
+
+    public static RankingWindow fromParam(String param) {
+        return Arrays.stream(values())
+                .filter(w -> w.param.equalsIgnoreCase(param))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown ranking window: " + param));
+    }
+}
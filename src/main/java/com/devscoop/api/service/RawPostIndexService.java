@@ -0,0 +1,291 @@
+package com.devscoop.api.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.mapping.Property;
+import co.elastic.clients.elasticsearch.indices.get_alias.IndexAliases;
+import co.elastic.clients.elasticsearch.tasks.GetTasksResponse;
+import com.devscoop.api.codec.JsonCodec;
+import com.devscoop.api.consumer.ElasticSearchPostConsumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.devscoop.api.service.RawPostIndices.*;
+
+/**
+ * raw-posts 월별 인덱스 수명주기: 템플릿/파이프라인 등록, 월초 쓰기 alias rollover,
+ * 마감된 달 force-merge, 레거시 단일 인덱스 마이그레이션.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RawPostIndexService implements SmartInitializingSingleton {
+
+    private final ElasticsearchClient esClient;
+    private final JsonCodec jsonCodec;
+    private final FacetAnalyticsService facetAnalyticsService;
+    private final KafkaListenerEndpointRegistry listenerRegistry;
+    private final AtomicBoolean migrating = new AtomicBoolean(false);
+    private final AtomicBoolean repairing = new AtomicBoolean(false);
+    private volatile boolean bootstrapped;
+
+    /**
+     * 리스너 컨테이너 시작 전에 실행. 쓰기는 파이프라인이 월 인덱스로 재라우팅하므로 require_alias를 쓸 수 없고,
+     * 대신 ES 컨슈머(autoStartup=false)와 백필은 bootstrap이 끝난 뒤에만 'raw-posts-write'에 쓴다
+     * → alias 부재 시 ES가 'raw-posts-write' 구체 인덱스를 자동 생성하는 일이 없다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        bootstrap();
+    }
+
+    /** 리스너 컨테이너가 모두 등록된 뒤 (bootstrap 시점엔 아직 없을 수 있음) */
+    @EventListener(ContextRefreshedEvent.class)
+    public void onContextRefreshed() {
+        if (bootstrapped) startIndexer();
+    }
+
+    /** 기동 시 ES 장애로 실패했으면 주기적으로 재시도 (그동안 ES 컨슈머는 정지 상태로 lag만 쌓임) */
+    @Scheduled(fixedDelayString = "${raw-posts.bootstrap.retry-ms:60000}", initialDelay = 60_000)
+    public void retryBootstrap() {
+        if (!bootstrapped) bootstrap();
+    }
+
+    public boolean isBootstrapped() {
+        return bootstrapped;
+    }
+
+    private void startIndexer() {
+        MessageListenerContainer container = listenerRegistry.getListenerContainer(ElasticSearchPostConsumer.LISTENER_ID);
+        if (container != null && !container.isRunning()) {
+            container.start();
+            log.info("[ES] raw-posts indexer listener started");
+        }
+    }
+
+    public void bootstrap() {
+        try {
+            try (Reader pipeline = resource("elasticsearch/raw-posts-pipeline.json")) {
+                esClient.ingest().putPipeline(p -> p.id(PIPELINE).withJson(pipeline));
+            }
+            try (Reader template = resource("elasticsearch/raw-posts-template.json")) {
+                esClient.indices().putIndexTemplate(t -> t.name(TEMPLATE).withJson(template));
+            }
+            if (repairConcreteWriteIndex()) return; // reindex task 완료 후 bootstrap 재실행
+            rollWriteAlias();
+
+            // 레거시 단일 인덱스는 마이그레이션 전까지 읽기 alias에 포함
+            if (esClient.indices().exists(e -> e.index(LEGACY_INDEX)).value()) {
+                shadowLegacyFields();
+                esClient.indices().putAlias(a -> a.index(LEGACY_INDEX).name(READ_ALIAS));
+                log.warn("[ES] legacy index '{}' still present; run POST /job/raw-posts/migrate", LEGACY_INDEX);
+            }
+            bootstrapped = true;
+            startIndexer();
+        } catch (Exception e) {
+            log.error("[ES] raw-posts index bootstrap failed", e);
+        }
+    }
+
+    /**
+     * 월초: 이번 달 인덱스를 만들고 쓰기 alias를 옮긴 뒤, 마감된 달을 force-merge.
+     * force-merge 실패는 rollover에 영향 없음.
+     */
+    @Scheduled(cron = "${raw-posts.rollover.cron:0 5 0 1 * *}", zone = "UTC")
+    public void rollover() {
+        try {
+            rollWriteAlias();
+        } catch (Exception e) {
+            log.error("[ES] raw-posts rollover failed", e);
+        }
+        forceMergeClosedMonth();
+    }
+
+    /**
+     * 지난달은 늦게 도착하는 글이 있을 수 있어 그 이전 달만 segment 1개로.
+     * 오래 걸리므로 서버 task로 시작만 하고 기다리지 않는다 (소켓 타임아웃과 무관).
+     */
+    private void forceMergeClosedMonth() {
+        String closed = monthly(YearMonth.now(ZoneOffset.UTC).minusMonths(2));
+        try {
+            if (!esClient.indices().exists(e -> e.index(closed)).value()) return;
+            esClient.indices().forcemerge(f -> f.index(closed).maxNumSegments(1L).waitForCompletion(false));
+            log.info("[ES] force-merge of closed month {} started", closed);
+        } catch (Exception e) {
+            log.warn("[ES] force-merge of closed month {} failed to start", closed, e);
+        }
+    }
+
+    /** 이번 달 인덱스를 만들고 쓰기 alias를 원자적으로 옮긴다 (이미 옮겨졌으면 no-op) */
+    private void rollWriteAlias() throws Exception {
+        YearMonth month = YearMonth.now(ZoneOffset.UTC);
+        String current = monthly(month);
+
+        if (!esClient.indices().exists(e -> e.index(current)).value()) {
+            esClient.indices().create(c -> c.index(current));
+            log.info("[ES] created monthly index {}", current);
+        }
+
+        Map<String, IndexAliases> writers = esClient.indices().existsAlias(e -> e.name(WRITE_ALIAS)).value()
+                ? esClient.indices().getAlias(g -> g.name(WRITE_ALIAS)).result()
+                : Map.of();
+        if (!writers.containsKey(current) || writers.size() > 1) {
+            esClient.indices().updateAliases(u -> {
+                writers.keySet().stream()
+                        .filter(idx -> !idx.equals(current))
+                        .forEach(idx -> u.actions(a -> a.remove(r -> r.index(idx).alias(WRITE_ALIAS))));
+                return u.actions(a -> a.add(ad -> ad.index(current).alias(WRITE_ALIAS).isWriteIndex(true)));
+            });
+            log.info("[ES] write alias {} -> {}", WRITE_ALIAS, current);
+        }
+    }
+
+    /**
+     * 레거시 인덱스는 dynamic 매핑(url/source/keywords = text + .keyword, createdAt = long)이라
+     * 템플릿 매핑을 전제로 한 정렬/terms 집계/epoch_millis range가 레거시 샤드에서만 실패한다.
+     * 마이그레이션 전까지 같은 이름의 runtime 필드로 가려서 템플릿과 같은 타입으로 보이게 한다.
+     */
+    private void shadowLegacyFields() throws Exception {
+        Map<String, Property> props = esClient.indices().getMapping(m -> m.index(LEGACY_INDEX))
+                .result().get(LEGACY_INDEX).mappings().properties();
+
+        Map<String, Object> runtime = new LinkedHashMap<>();
+        for (String field : List.of("url", "source", "keywords")) {
+            Property p = props.get(field);
+            if (p != null && p.isText() && p.text().fields().containsKey("keyword")) {
+                runtime.put(field, Map.of("type", "keyword",
+                        "script", Map.of("source", "for (def v : doc['" + field + ".keyword']) { emit(v); }")));
+            }
+        }
+        Property createdAt = props.get("createdAt");
+        if (createdAt != null && createdAt.isLong()) {
+            runtime.put("createdAt", Map.of("type", "date",
+                    "script", Map.of("source", "for (def v : doc['createdAt']) { emit(v); }")));
+        }
+        if (runtime.isEmpty()) return;
+
+        String body = jsonCodec.mapper().writeValueAsString(Map.of("runtime", runtime));
+        esClient.indices().putMapping(m -> m.index(LEGACY_INDEX).withJson(new StringReader(body)));
+        log.info("[ES] legacy index '{}' runtime-shadowed fields {}", LEGACY_INDEX, runtime.keySet());
+    }
+
+    /**
+     * alias 설치 전에 쓰기가 먼저 들어와 'raw-posts-write'가 구체 인덱스로 자동 생성된 경우:
+     * 파이프라인으로 월별 인덱스에 reindex 후 삭제해야 alias를 만들 수 있다.
+     * 대용량일 수 있으므로 migrateLegacy처럼 서버 task로 실행하고, 완료되면 삭제 후 bootstrap을 다시 돈다.
+     * @return 복구가 진행 중이면 true (bootstrap은 여기서 중단)
+     */
+    private boolean repairConcreteWriteIndex() throws Exception {
+        boolean concrete = esClient.indices().exists(e -> e.index(WRITE_ALIAS)).value()
+                && !esClient.indices().existsAlias(e -> e.name(WRITE_ALIAS)).value();
+        if (!concrete) return false;
+        if (!repairing.compareAndSet(false, true)) return true;
+
+        String dest = monthly(YearMonth.now(ZoneOffset.UTC)); // 파이프라인이 createdAt 월로 재라우팅
+        String taskId;
+        try {
+            taskId = esClient.reindex(r -> r
+                    .source(s -> s.index(WRITE_ALIAS))
+                    .dest(d -> d.index(dest).pipeline(PIPELINE))
+                    .waitForCompletion(false)
+                    .refresh(true)).task();
+        } catch (Exception e) {
+            repairing.set(false);
+            throw e;
+        }
+        log.warn("[ES] concrete index '{}' found; reindexing into monthly indices (task {})", WRITE_ALIAS, taskId);
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                GetTasksResponse task = awaitTask(taskId);
+                if (task.error() != null || (task.response() != null && !task.response().failures().isEmpty())) {
+                    log.error("[ES] reindex task {} of concrete '{}' failed, keeping it", taskId, WRITE_ALIAS);
+                    return;
+                }
+                esClient.indices().delete(d -> d.index(WRITE_ALIAS));
+                log.warn("[ES] replaced auto-created concrete index '{}' (task {})", WRITE_ALIAS, taskId);
+            } catch (Exception e) {
+                log.error("[ES] repair of concrete '{}' failed (task {})", WRITE_ALIAS, taskId, e);
+                return;
+            } finally {
+                repairing.set(false);
+            }
+            bootstrap();
+        });
+        return true;
+    }
+
+    /** 서버 task 완료까지 polling */
+    private GetTasksResponse awaitTask(String taskId) throws Exception {
+        GetTasksResponse task;
+        do {
+            TimeUnit.SECONDS.sleep(5);
+            task = esClient.tasks().get(t -> t.taskId(taskId));
+        } while (!task.completed());
+        return task;
+    }
+
+    /**
+     * 레거시 raw-posts → 월별 인덱스로 reindex(파이프라인이 createdAt 월로 라우팅) 후 레거시 삭제.
+     * @return 시작 여부 (이미 진행 중이거나 레거시가 없으면 false)
+     */
+    public boolean migrateLegacy() throws Exception {
+        if (!esClient.indices().exists(e -> e.index(LEGACY_INDEX)).value()) return false;
+        if (!migrating.compareAndSet(false, true)) return false;
+
+        // 대용량일 수 있으므로 서버 task로 실행하고 완료까지 polling
+        String taskId;
+        try {
+            taskId = esClient.reindex(r -> r
+                    .source(s -> s.index(LEGACY_INDEX))
+                    .dest(d -> d.index(WRITE_ALIAS).pipeline(PIPELINE))
+                    .waitForCompletion(false)
+                    .refresh(true)).task();
+        } catch (Exception e) {
+            migrating.set(false);
+            throw e;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            try {
+                GetTasksResponse task = awaitTask(taskId);
+                if (task.error() != null || (task.response() != null && !task.response().failures().isEmpty())) {
+                    log.error("[ES] legacy reindex task {} failed, keeping '{}'", taskId, LEGACY_INDEX);
+                    return;
+                }
+                esClient.indices().delete(d -> d.index(LEGACY_INDEX));
+                facetAnalyticsService.invalidateAll();
+                log.info("[ES] migrated '{}' into monthly indices (task {})", LEGACY_INDEX, taskId);
+            } catch (Exception e) {
+                log.error("[ES] legacy raw-posts migration failed (task {})", taskId, e);
+            } finally {
+                migrating.set(false);
+            }
+        });
+        return true;
+    }
+
+    private static Reader resource(String path) throws Exception {
+        return new InputStreamReader(new ClassPathResource(path).getInputStream(), StandardCharsets.UTF_8);
+    }
+}
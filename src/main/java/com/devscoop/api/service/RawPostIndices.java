@@ -0,0 +1,66 @@
+package com.devscoop.api.service;
+
+import co.elastic.clients.elasticsearch._types.ShardStatistics;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * raw-posts 월별 인덱스 이름 규칙.
+ *  - raw-posts-yyyy.MM : createdAt(UTC) 월 기준 (ingest pipeline이 라우팅)
+ *  - raw-posts-write   : 쓰기 alias (이번 달 인덱스, 월초 rollover)
+ *  - raw-posts-read    : 읽기 alias (모든 월 인덱스 + 마이그레이션 전 레거시 인덱스)
+ */
+public final class RawPostIndices {
+
+    public static final String READ_ALIAS = "raw-posts-read";
+    public static final String WRITE_ALIAS = "raw-posts-write";
+    public static final String LEGACY_INDEX = "raw-posts";
+    public static final String PREFIX = "raw-posts-";
+    public static final String PIPELINE = "raw-posts-monthly";
+    public static final String TEMPLATE = "raw-posts-template";
+
+    private static final DateTimeFormatter MONTH_FORMAT = DateTimeFormatter.ofPattern("yyyy.MM");
+    private static final int MAX_TARGETED_MONTHS = 24; // 이보다 넓으면 읽기 alias 전체
+
+    private RawPostIndices() {
+    }
+
+    public static String monthly(YearMonth month) {
+        return PREFIX + month.format(MONTH_FORMAT);
+    }
+
+    public static YearMonth monthOf(long epochMillis) {
+        return YearMonth.from(Instant.ofEpochMilli(epochMillis).atZone(ZoneOffset.UTC));
+    }
+
+    /**
+     * 부분 샤드 실패를 오류로 취급 (월 인덱스/레거시 인덱스 중 일부만 실패하면 결과가 조용히 빠짐)
+     */
+    public static void requireAllShards(ShardStatistics shards) {
+        if (shards == null || shards.failed().intValue() == 0) return;
+        String reason = shards.failures().isEmpty() ? "" : ": " + shards.failures().getFirst().reason().reason();
+        throw new IllegalStateException(shards.failed() + "/" + shards.total() + " shards failed" + reason);
+    }
+
+    /**
+     * [fromMillis, toMillis) 구간에 해당하는 월 인덱스만. null/과도한 범위면 읽기 alias.
+     * 레거시 인덱스가 남아 있으면 함께 포함 (검색 시 ignore_unavailable 전제)
+     */
+    public static List<String> forRange(Long fromMillis, Long toMillis) {
+        if (fromMillis == null || toMillis == null || toMillis <= fromMillis) return List.of(READ_ALIAS);
+
+        YearMonth first = monthOf(fromMillis);
+        YearMonth last = monthOf(toMillis - 1);
+        if (first.plusMonths(MAX_TARGETED_MONTHS).isBefore(last)) return List.of(READ_ALIAS);
+
+        List<String> out = new ArrayList<>();
+        for (YearMonth m = first; !m.isAfter(last); m = m.plusMonths(1)) out.add(monthly(m));
+        out.add(LEGACY_INDEX);
+        return out;
+    }
+}
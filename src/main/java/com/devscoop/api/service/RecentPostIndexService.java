@@ -0,0 +1,142 @@
+package com.devscoop.api.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.FieldValue;
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch.core.SearchRequest;
+import co.elastic.clients.elasticsearch.core.SearchResponse;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import com.devscoop.api.dto.ArticleHit;
+import com.devscoop.api.dto.ArticleSearchResponseDto;
+import com.devscoop.api.index.RecentPostIndex;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * 최근 window-days일 글의 로컬 역색인 관리: 기동 시 ES에서 윈도우를 적재하고,
+ * raw-posts Kafka 스트림(RecentPostIndexConsumer)은 윈도우 시작 시각부터 재생해 갱신.
+ * ES 적재와 스트림 따라잡기가 모두 끝나야 윈도우를 완전하다고 본다(covers).
+ */
+@Slf4j
+@Service
+public class RecentPostIndexService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final int BOOTSTRAP_PAGE = 1000;
+
+    private final ElasticsearchClient esClient;
+    private final RecentPostIndex index;
+    private final int windowDays;
+    private final Timer searchTimer;
+    private final Counter indexed;
+
+    private volatile LocalDate esLoadedFrom;   // ES 부트스트랩 완료 시 시작일
+    private volatile boolean streamCaughtUp;  // Kafka 재생분 따라잡음
+
+    public RecentPostIndexService(ElasticsearchClient esClient,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${search.recent.window-days:3}") int windowDays,
+                                  @Value("${search.recent.max-docs:200000}") int maxDocs) {
+        this.esClient = esClient;
+        this.windowDays = windowDays;
+        this.index = new RecentPostIndex(KST, windowDays, maxDocs);
+        this.searchTimer = Timer.builder("search.recent.query")
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+        this.indexed = meterRegistry.counter("search.recent.indexed");
+        meterRegistry.gauge("search.recent.docs", index, RecentPostIndex::size);
+    }
+
+    public void index(ArticleHit doc) {
+        if (index.add(doc)) indexed.increment();
+    }
+
+    public boolean covers(Long fromMillis) {
+        return index.covers(fromMillis);
+    }
+
+    /** 스트림 재생 시작 시각 (윈도우 첫날 00:00 KST) */
+    public long windowStartMillis() {
+        return LocalDate.now(KST).minusDays(windowDays - 1L).atStartOfDay(KST).toInstant().toEpochMilli();
+    }
+
+    public boolean streamCaughtUp() {
+        return streamCaughtUp;
+    }
+
+    public void markStreamCaughtUp() {
+        streamCaughtUp = true;
+        log.info("[RecentIndex] raw-posts stream caught up");
+        markCoveredIfReady();
+    }
+
+    private synchronized void markCoveredIfReady() {
+        if (esLoadedFrom != null && streamCaughtUp) index.markCoveredFrom(esLoadedFrom);
+    }
+
+    public ArticleSearchResponseDto search(String keyword, String source, Long fromMillis, Long toMillis, int page, int size) {
+        RecentPostIndex.Result result = searchTimer.record(() ->
+                index.search(keyword, source, fromMillis, toMillis, (page - 1) * size, size));
+        return ArticleSearchResponseDto.of(result.hits(), result.total(), page, size);
+    }
+
+    /** 윈도우 시작일부터 ES에서 적재 (스트림도 따라잡은 뒤에야 covers()가 true) */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        LocalDate start = LocalDate.now(KST).minusDays(windowDays - 1L);
+        long fromMillis = start.atStartOfDay(KST).toInstant().toEpochMilli();
+        long toMillis = System.currentTimeMillis() + 86_400_000L;
+        long began = System.currentTimeMillis();
+        int loaded = 0;
+        try {
+            List<FieldValue> after = null;
+            while (true) {
+                SearchRequest.Builder req = ArticleSearchService.projected(new SearchRequest.Builder())
+                        .index(RawPostIndices.forRange(fromMillis, toMillis))
+                        .ignoreUnavailable(true)
+                        .allowNoIndices(true)
+                        .size(BOOTSTRAP_PAGE)
+                        .trackTotalHits(t -> t.enabled(false))
+                        .query(q -> q.range(r -> r.date(d -> d
+                                .field("createdAt")
+                                .gte(String.valueOf(fromMillis))
+                                .format("epoch_millis"))))
+                        .sort(s -> s.field(f -> f.field("createdAt").order(SortOrder.Asc)))
+                        .sort(s -> s.field(f -> f.field("url").order(SortOrder.Asc).missing("_last")));
+                if (after != null) req.searchAfter(after);
+
+                SearchResponse<ArticleHit> res = esClient.search(req.build(), ArticleHit.class);
+                RawPostIndices.requireAllShards(res.shards());
+                List<Hit<ArticleHit>> hits = res.hits().hits();
+                for (ArticleHit doc : ArticleSearchService.toArticles(hits)) {
+                    index(doc);
+                    loaded++;
+                }
+                if (hits.size() < BOOTSTRAP_PAGE) break;
+                after = hits.getLast().sort();
+            }
+            esLoadedFrom = start;
+            markCoveredIfReady();
+            log.info("[RecentIndex] loaded {} posts since {} in {}ms", loaded, start, System.currentTimeMillis() - began);
+        } catch (Exception e) {
+            // 기동 이후 스트림분만 보유 → covers()는 false, ES 장애 시 부분 결과로만 사용
+            log.error("[RecentIndex] bootstrap from ES failed after {} posts", loaded, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.recent.evict-interval-ms:60000}", initialDelay = 60_000)
+    public void evict() {
+        index.evict();
+    }
+}
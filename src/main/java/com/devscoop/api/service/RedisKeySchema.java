@@ -0,0 +1,93 @@
+package com.devscoop.api.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * Redis 키 레이아웃 (redis.layout = legacy | compact)
+ *  - legacy : keyword_stats:{source}:{keyword} 해시, seen:url:{sha256} 문자열 — 항목당 키 1개
+ *  - compact: kstats:{source}:{bucket} 해시에 keyword → "mean:std:count:expireAt" (버킷당 수십 필드 → listpack 유지)
+ *             seen:d:{yyyy-MM-dd}:{shard} 해시에 64bit 지문 — 일자 단위로 통째 만료
+ * 키 하나당 고정 오버헤드(dictEntry, robj, 만료 테이블 항목 등)를 항목 수만큼 내지 않도록 묶는다.
+ */
+@Component
+public class RedisKeySchema {
+
+    public static final String LEGACY_STATS_PREFIX = "keyword_stats:";
+    public static final String LEGACY_SEEN_PREFIX = "seen:url:";
+    public static final String STATS_PREFIX = "kstats:";
+    public static final String SEEN_PREFIX = "seen:d:";
+    public static final int SEEN_DAYS = 3;  // 오늘 + 이전 2일 → 최소 48시간 중복 차단
+    public static final Duration STATS_BUCKET_TTL = Duration.ofDays(5); // 버킷 키 자체는 쓰기마다 연장
+    private static final int HASH_MOD = 1_000_003; // ranking.lua와 같은 버킷 해시
+
+    private final boolean compact;
+    private final int statsBuckets;
+    private final int seenShards;
+
+    public RedisKeySchema(@Value("${redis.layout:legacy}") String layout,
+                          @Value("${redis.compact.stats-buckets:512}") int statsBuckets,
+                          @Value("${redis.compact.seen-shards:64}") int seenShards) {
+        this.compact = "compact".equalsIgnoreCase(layout);
+        this.statsBuckets = statsBuckets;
+        this.seenShards = seenShards;
+    }
+
+    public boolean compact() {
+        return compact;
+    }
+
+    public int statsBuckets() {
+        return statsBuckets;
+    }
+
+    public static String legacyStatsKey(String source, String keyword) {
+        return LEGACY_STATS_PREFIX + source + ":" + keyword;
+    }
+
+    public String statsBucketKey(String source, String keyword) {
+        return STATS_PREFIX + source + ":" + statsBucketOf(keyword);
+    }
+
+    public int statsBucketOf(String keyword) {
+        return bucketOf(keyword, statsBuckets);
+    }
+
+    /** 31진 롤링 해시 (UTF-8 바이트) — Lua에서도 같은 값이 나오도록 double 정밀도 안에서 mod */
+    static int bucketOf(String keyword, int buckets) {
+        int h = 0;
+        for (byte b : keyword.getBytes(StandardCharsets.UTF_8)) h = (h * 31 + (b & 0xff)) % HASH_MOD;
+        return h % buckets;
+    }
+
+    /** sha256 hex의 앞 16자(64bit)를 지문으로 사용 — 레거시 seen:url 키에서 그대로 변환 가능 */
+    public static String seenFingerprint(String sha256Hex) {
+        return sha256Hex.substring(0, 16);
+    }
+
+    public String seenShardKey(LocalDate day, String fingerprint) {
+        return SEEN_PREFIX + day + ":" + (Integer.parseInt(fingerprint.substring(0, 4), 16) % seenShards);
+    }
+
+    /** float 정밀도로 충분 (z-score 계산용) + listpack 값 길이(64B) 안에 들도록 짧게 */
+    public static String packStat(double mean, double std, long count, long expireAtEpochSec) {
+        return (float) mean + ":" + (float) std + ":" + count + ":" + expireAtEpochSec;
+    }
+
+    /** [mean, std, count, expireAt], 형식이 다르면 null */
+    public static double[] unpackStat(String packed) {
+        if (packed == null) return null;
+        String[] p = packed.split(":");
+        if (p.length != 4) return null;
+        try {
+            return new double[]{Double.parseDouble(p[0]), Double.parseDouble(p[1]),
+                    Long.parseLong(p[2]), Long.parseLong(p[3])};
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
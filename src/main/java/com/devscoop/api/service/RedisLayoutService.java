@@ -0,0 +1,330 @@
+package com.devscoop.api.service;
+
+import com.devscoop.api.dto.RedisLayoutMigrationDto;
+import com.devscoop.api.dto.RedisMemoryReportDto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * legacy ↔ compact 레이아웃 운영 도구 (RedisKeySchema)
+ *  - migrate: keyword_stats:* / seen:url:* → 버킷/샤드 해시로 복사 (남은 TTL 보존, 선택적으로 레거시 삭제)
+ *  - memoryReport: 두 레이아웃의 키 수·MEMORY USAGE 표본·인코딩 분포 비교
+ *  - sweepExpiredStats: compact 통계의 만료 필드 정리 + 재계산 큐 등록 (레거시의 만료 이벤트 역할)
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisLayoutService {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+    private static final String SWEEP_LOCK_KEY = "redis_layout:sweep:lock";
+    private static final Duration LEGACY_SEEN_TTL = Duration.ofDays(2);  // CrawlerScheduler 레거시 TTL
+    private static final Duration LEGACY_STATS_TTL = Duration.ofDays(2); // TTL 없는 레거시 통계의 기본값
+    private static final int BATCH = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisKeySchema keySchema;
+    private final KeywordRankingService keywordRankingService;
+    private final KeywordStatRecomputeQueue recomputeQueue;
+    private final AtomicBoolean migrating = new AtomicBoolean(false);
+
+    /** 이미 실행 중이면 null */
+    public RedisLayoutMigrationDto migrate(boolean deleteLegacy) {
+        if (!migrating.compareAndSet(false, true)) return null;
+        long start = System.currentTimeMillis();
+        Tally tally = new Tally();
+        try {
+            forEachBatch(RedisKeySchema.LEGACY_STATS_PREFIX + "*", keys -> migrateStats(keys, deleteLegacy, tally));
+            forEachBatch(RedisKeySchema.LEGACY_SEEN_PREFIX + "*", keys -> migrateSeen(keys, deleteLegacy, tally));
+        } finally {
+            migrating.set(false);
+        }
+        RedisLayoutMigrationDto result = new RedisLayoutMigrationDto(
+                tally.stats, tally.seen, tally.skipped, tally.deleted, System.currentTimeMillis() - start);
+        log.info("[RedisLayout] migrated to compact layout: {}", result);
+        return result;
+    }
+
+    private void migrateStats(List<String> keys, boolean deleteLegacy, Tally tally) {
+        List<Object> rows = redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+            for (String key : keys) {
+                conn.hashCommands().hMGet(bytes(key), bytes("mean"), bytes("std"), bytes("count"));
+                conn.keyCommands().pTtl(bytes(key));
+            }
+            return null;
+        });
+
+        long nowSec = System.currentTimeMillis() / 1000;
+        Map<String, String[]> writes = new LinkedHashMap<>(); // legacyKey → [bucketKey, keyword, packed]
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            String rest = key.substring(RedisKeySchema.LEGACY_STATS_PREFIX.length());
+            int sep = rest.indexOf(':');
+            Object values = rows.get(2 * i);
+            Object pTtl = rows.get(2 * i + 1);
+            if (sep <= 0 || !(values instanceof List<?> v) || v.size() < 3 || v.contains(null)
+                    || !(pTtl instanceof Long ttl) || ttl == -2 || (ttl >= 0 && ttl < 1000)) {
+                tally.skipped++;
+                continue;
+            }
+            try {
+                long ttlSec = ttl < 0 ? LEGACY_STATS_TTL.toSeconds() : ttl / 1000;
+                String source = rest.substring(0, sep);
+                String keyword = rest.substring(sep + 1);
+                String packed = RedisKeySchema.packStat(
+                        Double.parseDouble(v.get(0).toString()),
+                        Double.parseDouble(v.get(1).toString()),
+                        Long.parseLong(v.get(2).toString()),
+                        nowSec + ttlSec);
+                writes.put(key, new String[]{keySchema.statsBucketKey(source, keyword), keyword, packed});
+            } catch (NumberFormatException e) {
+                tally.skipped++;
+            }
+        }
+        if (writes.isEmpty()) return;
+
+        redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+            for (var e : writes.entrySet()) {
+                String[] w = e.getValue();
+                conn.hashCommands().hSet(bytes(w[0]), bytes(w[1]), bytes(w[2]));
+                conn.keyCommands().expire(bytes(w[0]), RedisKeySchema.STATS_BUCKET_TTL.toSeconds());
+                if (deleteLegacy) conn.keyCommands().unlink(bytes(e.getKey()));
+            }
+            return null;
+        });
+        tally.stats += writes.size();
+        if (deleteLegacy) tally.deleted += writes.size();
+    }
+
+    private void migrateSeen(List<String> keys, boolean deleteLegacy, Tally tally) {
+        List<Object> ttls = redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+            for (String key : keys) conn.keyCommands().pTtl(bytes(key));
+            return null;
+        });
+
+        long now = System.currentTimeMillis();
+        LocalDate oldest = LocalDate.now(KST).minusDays(RedisKeySchema.SEEN_DAYS - 1L);
+        Map<String, String[]> writes = new LinkedHashMap<>(); // legacyKey → [shardKey, fingerprint, expireAt]
+        for (int i = 0; i < keys.size(); i++) {
+            String key = keys.get(i);
+            String sha = key.substring(RedisKeySchema.LEGACY_SEEN_PREFIX.length());
+            if (sha.length() < 16 || !(ttls.get(i) instanceof Long ttl) || ttl == -2) {
+                tally.skipped++;
+                continue;
+            }
+            // 최초 수집 시각 = 현재 - (2일 - 남은 TTL)
+            long seenAt = ttl < 0 ? now : now - (LEGACY_SEEN_TTL.toMillis() - ttl);
+            LocalDate day = Instant.ofEpochMilli(seenAt).atZone(KST).toLocalDate();
+            if (day.isBefore(oldest)) {
+                tally.skipped++;
+                continue;
+            }
+            String fingerprint = RedisKeySchema.seenFingerprint(sha);
+            long expireAt = day.plusDays(RedisKeySchema.SEEN_DAYS).atStartOfDay(KST).toEpochSecond();
+            writes.put(key, new String[]{keySchema.seenShardKey(day, fingerprint), fingerprint, String.valueOf(expireAt)});
+        }
+        if (writes.isEmpty()) return;
+
+        redisTemplate.executePipelined((RedisCallback<?>) conn -> {
+            for (var e : writes.entrySet()) {
+                String[] w = e.getValue();
+                conn.hashCommands().hSet(bytes(w[0]), bytes(w[1]), bytes("1"));
+                conn.keyCommands().expireAt(bytes(w[0]), Long.parseLong(w[2]));
+                if (deleteLegacy) conn.keyCommands().unlink(bytes(e.getKey()));
+            }
+            return null;
+        });
+        tally.seen += writes.size();
+        if (deleteLegacy) tally.deleted += writes.size();
+    }
+
+    /**
+     * 키 패턴별로 전체 키 수는 SCAN으로 세고, 앞쪽 sample개만 MEMORY USAGE / OBJECT ENCODING / 항목 수를 잰다.
+     */
+    public RedisMemoryReportDto memoryReport(int sample) {
+        Measured legacyStats = measure("keyword_stats", "legacy", RedisKeySchema.LEGACY_STATS_PREFIX + "*", sample);
+        Measured compactStats = measure("keyword_stats", "compact", RedisKeySchema.STATS_PREFIX + "*", sample);
+        Measured legacySeen = measure("seen_url", "legacy", RedisKeySchema.LEGACY_SEEN_PREFIX + "*", sample);
+        Measured compactSeen = measure("seen_url", "compact", RedisKeySchema.SEEN_PREFIX + "*", sample);
+        Measured counts = measure("keyword_count", "shared", RankingWindow.KEY_PREFIX + "*", sample);
+
+        return RedisMemoryReportDto.builder()
+                .activeLayout(keySchema.compact() ? "compact" : "legacy")
+                .families(List.of(legacyStats.family, compactStats.family, legacySeen.family,
+                        compactSeen.family, counts.family))
+                .seenBytesPerMillionPostsLegacy(perMillion(legacySeen.family))
+                .seenBytesPerMillionPostsCompact(perMillion(compactSeen.family))
+                .zsetAvgMemberBytes(counts.memberCount == 0 ? null : (double) counts.memberBytes / counts.memberCount)
+                .zsetIntMemberSavingEstimate(intMemberSaving(counts))
+                .build();
+    }
+
+    /**
+     * 멤버를 정수 id로 바꾸면 멤버당 (평균 문자열 길이 - id 자릿수)만큼 줄지만,
+     * keyword ↔ id 사전 해시 2개(항목당 약 키워드 길이 + id + 16B)가 새로 필요 → 순 절감만 반환
+     */
+    private Long intMemberSaving(Measured counts) {
+        if (counts.memberCount == 0 || counts.family.sampledKeys() == 0) return null;
+        double avgMember = (double) counts.memberBytes / counts.memberCount;
+        int idBytes = String.valueOf(counts.distinctMembers.size()).length();
+        double membersPerKey = (double) counts.memberCount / counts.family.sampledKeys();
+        double totalMembers = membersPerKey * counts.family.keys();
+        double saving = totalMembers * Math.max(0, avgMember - idBytes);
+        double dictionary = 2.0 * counts.distinctMembers.size() * (avgMember + idBytes + 16);
+        return Math.round(saving - dictionary);
+    }
+
+    private static Double perMillion(RedisMemoryReportDto.Family f) {
+        return f.bytesPerEntry() > 0 ? f.bytesPerEntry() * 1_000_000 : null;
+    }
+
+    private Measured measure(String name, String layout, String pattern, int sample) {
+        Measured m = new Measured();
+        long keys = 0;
+        long bytes = 0;
+        long entries = 0;
+        Map<String, Integer> encodings = new TreeMap<>();
+        List<String> sampled = new ArrayList<>(sample);
+
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                keys++;
+                if (sampled.size() < sample) sampled.add(key);
+            }
+        }
+
+        for (String key : sampled) {
+            Object usage = redisTemplate.execute((RedisCallback<Object>) c -> c.execute("MEMORY", bytes("USAGE"), bytes(key)));
+            Object encoding = redisTemplate.execute((RedisCallback<Object>) c -> c.execute("OBJECT", bytes("ENCODING"), bytes(key)));
+            if (usage instanceof Number n) bytes += n.longValue();
+            encodings.merge(text(encoding), 1, Integer::sum);
+
+            DataType type = redisTemplate.type(key);
+            if (type == DataType.HASH) {
+                Long len = redisTemplate.opsForHash().size(key);
+                entries += len == null ? 0 : len;
+            } else if (type == DataType.ZSET) {
+                Set<String> members = redisTemplate.opsForZSet().range(key, 0, -1);
+                if (members != null) {
+                    entries += members.size();
+                    for (String member : members) {
+                        m.memberBytes += member.getBytes(StandardCharsets.UTF_8).length;
+                        m.distinctMembers.add(member);
+                    }
+                    m.memberCount += members.size();
+                }
+            } else {
+                entries += 1;
+            }
+        }
+
+        double avg = sampled.isEmpty() ? 0 : (double) bytes / sampled.size();
+        m.family = RedisMemoryReportDto.Family.builder()
+                .name(name)
+                .layout(layout)
+                .pattern(pattern)
+                .keys(keys)
+                .sampledKeys(sampled.size())
+                .avgBytesPerKey(avg)
+                .estimatedBytes(Math.round(avg * keys))
+                .bytesPerEntry(entries == 0 ? 0 : (double) bytes / entries)
+                .encodings(encodings)
+                .build();
+        return m;
+    }
+
+    /**
+     * compact 통계의 만료 필드 정리. 필드 단위 만료 이벤트가 없으므로
+     * 레거시 만료 리스너(재계산 큐 등록 + near-cache 무효화)를 여기서 대신한다.
+     */
+    @Scheduled(fixedDelayString = "${redis.compact.sweep-interval-ms:3600000}", initialDelay = 300_000)
+    public void sweepExpiredStats() {
+        if (!keySchema.compact()) return;
+        Boolean locked = redisTemplate.opsForValue().setIfAbsent(SWEEP_LOCK_KEY, "1", Duration.ofMinutes(30));
+        if (!Boolean.TRUE.equals(locked)) return;
+
+        int removed = 0;
+        try (Cursor<String> cursor = redisTemplate.scan(
+                ScanOptions.scanOptions().match(RedisKeySchema.STATS_PREFIX + "*").count(1000).build())) {
+            long nowSec = System.currentTimeMillis() / 1000;
+            while (cursor.hasNext()) {
+                String key = cursor.next();
+                String source = key.substring(RedisKeySchema.STATS_PREFIX.length(), key.lastIndexOf(':'));
+
+                List<Object> expired = new ArrayList<>();
+                redisTemplate.opsForHash().entries(key).forEach((field, value) -> { // 버킷당 수십 필드
+                    double[] v = RedisKeySchema.unpackStat(String.valueOf(value));
+                    if (v == null || v[3] < nowSec) expired.add(field);
+                });
+                if (expired.isEmpty()) continue;
+
+                redisTemplate.opsForHash().delete(key, expired.toArray());
+                for (Object field : expired) {
+                    String keyword = field.toString();
+                    recomputeQueue.submit(keyword);
+                    keywordRankingService.invalidateStats(source, keyword);
+                }
+                removed += expired.size();
+            }
+        } catch (Exception e) {
+            log.warn("[RedisLayout] compact stats sweep failed", e);
+        } finally {
+            redisTemplate.delete(SWEEP_LOCK_KEY);
+        }
+        if (removed > 0) log.info("[RedisLayout] swept {} expired compact stats", removed);
+    }
+
+    private void forEachBatch(String pattern, Consumer<List<String>> handler) {
+        try (Cursor<String> cursor = redisTemplate.scan(ScanOptions.scanOptions().match(pattern).count(1000).build())) {
+            List<String> batch = new ArrayList<>(BATCH);
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() == BATCH) {
+                    handler.accept(batch);
+                    batch = new ArrayList<>(BATCH);
+                }
+            }
+            if (!batch.isEmpty()) handler.accept(batch);
+        }
+    }
+
+    private static String text(Object o) {
+        if (o instanceof byte[] b) return new String(b, StandardCharsets.UTF_8);
+        return String.valueOf(o);
+    }
+
+    private static byte[] bytes(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static final class Tally {
+        long stats;
+        long seen;
+        long skipped;
+        long deleted;
+    }
+
+    private static final class Measured {
+        RedisMemoryReportDto.Family family;
+        long memberBytes;
+        long memberCount;
+        final Set<String> distinctMembers = new HashSet<>();
+    }
+}
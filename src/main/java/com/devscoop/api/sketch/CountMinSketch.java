@@ -0,0 +1,94 @@
+package com.devscoop.api.sketch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Count-Min Sketch (conservative 아님, 병합 가능).
+ * 추정치는 항상 실제값 이상이며, 확률 1 - e^-depth 로 오차 ≤ (e / width) * total.
+ * 노드 간 병합을 위해 해시는 JVM과 무관한 FNV-1a 64 + splitmix 기반.
+ */
+public final class CountMinSketch {
+
+    private final int width;
+    private final int depth;
+    private final long[] table;
+    private long total;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || depth <= 0) throw new IllegalArgumentException("width/depth must be positive");
+        this.width = width;
+        this.depth = depth;
+        this.table = new long[width * depth];
+    }
+
+    public void add(String item, long count) {
+        long h1 = hash(item);
+        long h2 = mix(h1);
+        for (int i = 0; i < depth; i++) {
+            table[i * width + index(h1, h2, i)] += count;
+        }
+        total += count;
+    }
+
+    public long estimate(String item) {
+        long h1 = hash(item);
+        long h2 = mix(h1);
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table[i * width + index(h1, h2, i)]);
+        }
+        return min;
+    }
+
+    /** 같은 크기의 스케치를 더한다 (셀 단위 합) */
+    public void merge(CountMinSketch other) {
+        if (other.width != width || other.depth != depth) {
+            throw new IllegalArgumentException("Cannot merge sketches of different dimensions");
+        }
+        for (int i = 0; i < table.length; i++) table[i] += other.table[i];
+        total += other.total;
+    }
+
+    /** (e / width) * total, 소수점 올림 */
+    public long errorBound() {
+        return (long) Math.ceil(Math.E / width * total);
+    }
+
+    public long total() {
+        return total;
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buf = ByteBuffer.allocate(4 + 4 + 8 + table.length * 8);
+        buf.putInt(width).putInt(depth).putLong(total);
+        for (long v : table) buf.putLong(v);
+        return buf.array();
+    }
+
+    public static CountMinSketch fromBytes(ByteBuffer buf) {
+        CountMinSketch cms = new CountMinSketch(buf.getInt(), buf.getInt());
+        cms.total = buf.getLong();
+        for (int i = 0; i < cms.table.length; i++) cms.table[i] = buf.getLong();
+        return cms;
+    }
+
+    private int index(long h1, long h2, int row) {
+        return (int) Long.remainderUnsigned(h1 + row * h2, width);
+    }
+
+    static long hash(String item) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : item.getBytes(StandardCharsets.UTF_8)) {
+            h ^= (b & 0xff);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return (z ^ (z >>> 31)) | 1L; // 홀수 → 행마다 다른 인덱스
+    }
+}
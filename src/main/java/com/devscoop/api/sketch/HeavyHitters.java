@@ -0,0 +1,71 @@
+package com.devscoop.api.sketch;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * 고정 메모리 근사 top-K: Space-Saving으로 후보를 유지하고 Count-Min으로 추정치를 좁힌다.
+ * 추정치 = min(SpaceSaving count, CMS estimate), 둘 다 과대추정이므로 작은 쪽이 더 정확하다.
+ */
+public final class HeavyHitters {
+
+    public record Estimate(String item, long count, long errorBound) {}
+
+    private final CountMinSketch cms;
+    private final SpaceSaving topK;
+
+    public HeavyHitters(int width, int depth, int capacity) {
+        this(new CountMinSketch(width, depth), new SpaceSaving(capacity));
+    }
+
+    private HeavyHitters(CountMinSketch cms, SpaceSaving topK) {
+        this.cms = cms;
+        this.topK = topK;
+    }
+
+    public synchronized void offer(String item) {
+        cms.add(item, 1);
+        topK.offer(item, 1);
+    }
+
+    public void merge(HeavyHitters other) {
+        HeavyHitters snapshot = other.copy(); // 상대 락을 잡은 채로 내 락을 기다리지 않도록 먼저 복사
+        synchronized (this) {
+            cms.merge(snapshot.cms);
+            topK.merge(snapshot.topK);
+        }
+    }
+
+    public synchronized List<Estimate> top(int n) {
+        long cmsError = cms.errorBound();
+        return topK.top(n).stream()
+                .map(c -> {
+                    long est = Math.min(c.count(), cms.estimate(c.item()));
+                    return new Estimate(c.item(), est, Math.min(c.error(), cmsError));
+                })
+                .sorted((a, b) -> Long.compare(b.count(), a.count()))
+                .toList();
+    }
+
+    public synchronized long total() {
+        return cms.total();
+    }
+
+    public synchronized HeavyHitters copy() {
+        return fromBytes(toBytes());
+    }
+
+    public synchronized byte[] toBytes() {
+        byte[] a = cms.toBytes();
+        byte[] b = topK.toBytes();
+        return ByteBuffer.allocate(4 + a.length + b.length).putInt(a.length).put(a).put(b).array();
+    }
+
+    public static HeavyHitters fromBytes(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes);
+        int cmsLength = buf.getInt();
+        CountMinSketch cms = CountMinSketch.fromBytes(buf.slice(buf.position(), cmsLength));
+        buf.position(buf.position() + cmsLength);
+        return new HeavyHitters(cms, SpaceSaving.fromBytes(buf));
+    }
+}
@@ -0,0 +1,122 @@
+package com.devscoop.api.sketch;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving top-K: 최대 capacity개 카운터만 유지.
+ * 꽉 찬 상태에서 새 항목이 오면 최소 카운터를 대체하고 그 값을 error로 기록한다 (count - error ≤ 실제값 ≤ count).
+ */
+public final class SpaceSaving {
+
+    public record Counter(String item, long count, long error) {}
+
+    private static final Comparator<Counter> ORDER = Comparator
+            .comparingLong(Counter::count)
+            .thenComparing(Counter::item);
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> byCount = new TreeSet<>(ORDER);
+
+    public SpaceSaving(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+    }
+
+    public void offer(String item, long count) {
+        Counter existing = counters.get(item);
+        if (existing != null) {
+            replace(existing, new Counter(item, existing.count() + count, existing.error()));
+            return;
+        }
+        if (counters.size() < capacity) {
+            put(new Counter(item, count, 0));
+            return;
+        }
+        Counter min = byCount.pollFirst();
+        counters.remove(min.item());
+        put(new Counter(item, min.count() + count, min.count()));
+    }
+
+    /** 두 요약을 합친 뒤 상위 capacity개만 남긴다 */
+    public void merge(SpaceSaving other) {
+        long thisMin = counters.size() < capacity ? 0 : byCount.first().count();
+        long otherMin = other.counters.size() < other.capacity ? 0 : other.byCount.first().count();
+
+        Map<String, Counter> merged = new HashMap<>();
+        for (Counter c : counters.values()) {
+            Counter o = other.counters.get(c.item());
+            merged.put(c.item(), o != null
+                    ? new Counter(c.item(), c.count() + o.count(), c.error() + o.error())
+                    : new Counter(c.item(), c.count() + otherMin, c.error() + otherMin));
+        }
+        for (Counter o : other.counters.values()) {
+            if (!merged.containsKey(o.item())) {
+                merged.put(o.item(), new Counter(o.item(), o.count() + thisMin, o.error() + thisMin));
+            }
+        }
+
+        counters.clear();
+        byCount.clear();
+        merged.values().stream()
+                .sorted(ORDER.reversed())
+                .limit(capacity)
+                .forEach(this::put);
+    }
+
+    /** count 내림차순 상위 n개 */
+    public List<Counter> top(int n) {
+        List<Counter> out = new ArrayList<>(Math.min(n, byCount.size()));
+        for (Counter c : byCount.descendingSet()) {
+            if (out.size() >= n) break;
+            out.add(c);
+        }
+        return out;
+    }
+
+    public byte[] toBytes() {
+        List<byte[]> items = new ArrayList<>(counters.size());
+        int size = 4 + 4;
+        for (Counter c : counters.values()) {
+            byte[] b = c.item().getBytes(StandardCharsets.UTF_8);
+            items.add(b);
+            size += 4 + b.length + 16;
+        }
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(capacity).putInt(counters.size());
+        int i = 0;
+        for (Counter c : counters.values()) {
+            byte[] b = items.get(i++);
+            buf.putInt(b.length).put(b).putLong(c.count()).putLong(c.error());
+        }
+        return buf.array();
+    }
+
+    public static SpaceSaving fromBytes(ByteBuffer buf) {
+        SpaceSaving ss = new SpaceSaving(buf.getInt());
+        int n = buf.getInt();
+        for (int i = 0; i < n; i++) {
+            byte[] b = new byte[buf.getInt()];
+            buf.get(b);
+            ss.put(new Counter(new String(b, StandardCharsets.UTF_8), buf.getLong(), buf.getLong()));
+        }
+        return ss;
+    }
+
+    private void replace(Counter old, Counter next) {
+        byCount.remove(old);
+        put(next);
+    }
+
+    private void put(Counter c) {
+        counters.put(c.item(), c);
+        byCount.add(c);
+    }
+}
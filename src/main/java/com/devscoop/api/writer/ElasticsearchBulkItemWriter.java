@@ -0,0 +1,45 @@
+package com.devscoop.api.writer;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.core.BulkResponse;
+import co.elastic.clients.elasticsearch.core.bulk.BulkOperation;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * chunk 단위로 ES bulk 요청 1회 전송. 항목 오류가 있으면 예외를 던져 Batch skip/retry 정책에 맡긴다.
+ */
+@Slf4j
+public class ElasticsearchBulkItemWriter<T> implements ItemWriter<T> {
+
+    private final ElasticsearchClient es;
+    private final Function<T, BulkOperation> toOperation;
+
+    public ElasticsearchBulkItemWriter(ElasticsearchClient es, Function<T, BulkOperation> toOperation) {
+        this.es = es;
+        this.toOperation = toOperation;
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        List<BulkOperation> ops = new ArrayList<>(chunk.size());
+        for (T item : chunk) ops.add(toOperation.apply(item));
+        if (ops.isEmpty()) return;
+
+        BulkResponse res = es.bulk(b -> b.operations(ops));
+        if (res.errors()) {
+            List<String> reasons = res.items().stream()
+                    .filter(it -> it.error() != null)
+                    .limit(10)
+                    .map(it -> it.error().reason())
+                    .toList();
+            log.error("Bulk error: {}", reasons);
+            throw new IllegalStateException("Bulk write failed: " + reasons);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+-- 현재/직전 구간 ZSET + 통계 해시로 trend score와 badge를 Redis 안에서 계산 (KeywordRankingService Java 경로와 동일 규칙)
+-- KEYS[1] = 현재 구간 ZSET, KEYS[2] = 직전 구간 ZSET (RankingWindow.currentKey/previousKey)
+-- ARGV = statsPrefix, fetchEnd, limit, alpha, eps, maxZ, spikeScore, risingScore, statsBuckets, nowEpochSec,
+--        onlineKey, minDays, statScale, reportMissing
+--   통계 우선순위: onlineKey 해시의 kw 필드 "n:mean:m2:ewMean:ewVar" (n >= minDays) → 통계 캐시 → 기본값(0, 1)
+--   statsBuckets = 0 : keyword_stats:{source}:{kw} 해시 (mean, std 필드)
+--   statsBuckets > 0 : kstats:{source}:{bucket} 해시의 kw 필드 = "mean:std:count:expireAt" (RedisKeySchema)
+--   statScale: 일 단위 mean/std를 구간 길이에 맞추는 배수 (mean ×scale, std ×√scale)
+-- 반환: [m, missing kw * m, (keyword, today, yesterday, score(string), badge('' = 없음)) * limit] (flat)
+--   reportMissing = 1이고 통계가 없는 키워드가 있으면 m개의 키워드만 반환 → 호출자가 ES에서 채운 뒤 reportMissing = 0으로 재호출
+local statsPrefix = ARGV[1]
+local fetchEnd = tonumber(ARGV[2])
+local limit = tonumber(ARGV[3])
+local alpha = tonumber(ARGV[4])
+local eps = tonumber(ARGV[5])
+local maxZ = tonumber(ARGV[6])
+local spike = tonumber(ARGV[7])
+local rising = tonumber(ARGV[8])
+local buckets = tonumber(ARGV[9]) or 0
+local now = tonumber(ARGV[10]) or 0
+local onlineKey = ARGV[11]
+local minDays = tonumber(ARGV[12]) or 0
+local scale = tonumber(ARGV[13]) or 1
+local reportMissing = ARGV[14] == '1'
+
+local function clamp(v, lo, hi)
+  if v < lo then return lo end
+  if v > hi then return hi end
+  return v
+end
+
+local function trendScore(today, yesterday, mean, std)
+  if today <= 0 then return 0.0 end
+  local growth = clamp((today - yesterday) / (today + alpha), 0.0, 1.0)
+  local sigma = std
+  if sigma <= eps then sigma = math.sqrt(math.max(mean, 1.0)) end
+  local z = clamp((today - mean) / math.max(sigma, 1.0), 0.0, maxZ)
+  return growth * z * math.log(1 + today)
+end
+
+-- RedisKeySchema.bucketOf와 동일한 31진 롤링 해시
+local function bucketOf(kw)
+  local h = 0
+  for i = 1, #kw do h = (h * 31 + string.byte(kw, i)) % 1000003 end
+  return h % buckets
+end
+
+-- OnlineKeywordStatsService.getStates와 동일: 관측 일수 minDays 이상만 사용
+local function loadOnline(kw)
+  local encoded = redis.call('HGET', onlineKey, kw)
+  if not encoded then return nil end
+  local n, _, _, ewMean, ewVar = string.match(encoded, '^([^:]+):([^:]+):([^:]+):([^:]+):([^:]+)$')
+  if not ewVar or tonumber(n) < minDays then return nil end
+  return tonumber(ewMean), math.sqrt(math.max(tonumber(ewVar), 0.0))
+end
+
+-- 캐시에 없으면 nil (Java는 이때 ES mget)
+local function loadCached(kw)
+  if buckets == 0 then
+    local st = redis.call('HMGET', statsPrefix .. kw, 'mean', 'std', 'count')
+    if not st[1] or not st[2] or not st[3] then return nil end
+    return tonumber(st[1]) or 0.0, tonumber(st[2]) or 1.0
+  end
+  local packed = redis.call('HGET', statsPrefix .. bucketOf(kw), kw)
+  if not packed then return nil end
+  local mean, std, _, exp = string.match(packed, '^([^:]+):([^:]+):([^:]+):([^:]+)$')
+  if not exp or tonumber(exp) < now then return nil end
+  return tonumber(mean) or 0.0, tonumber(std) or 1.0
+end
+
+local function loadStat(kw)
+  local mean, std = loadOnline(kw)
+  if mean then return mean, std end
+  return loadCached(kw)
+end
+
+local function badge(yesterday, score)
+  if yesterday == 0 and score > eps then return 'New' end
+  if score >= spike then return 'Spike' end
+  if score >= rising then return 'Rising' end
+  return ''
+end
+
+local todayRows = redis.call('ZREVRANGE', KEYS[1], 0, fetchEnd, 'WITHSCORES')
+local rows = {}
+local missing = {}
+for i = 1, #todayRows, 2 do
+  local kw = todayRows[i]
+  local t = math.floor(tonumber(todayRows[i + 1]))
+  local y = redis.call('ZSCORE', KEYS[2], kw)
+  y = y and math.floor(tonumber(y) + 0.5) or 0
+
+  local mean, std = loadStat(kw)
+  if not mean then
+    missing[#missing + 1] = kw
+    mean, std = 0.0, 1.0
+  end
+
+  local score = trendScore(t, y, mean * scale, std * math.sqrt(scale))
+  rows[#rows + 1] = { kw, t, y, score, badge(y, score), #rows }
+end
+
+if reportMissing and #missing > 0 then
+  local out = { #missing }
+  for i = 1, #missing do out[#out + 1] = missing[i] end
+  return out
+end
+
+-- 점수 내림차순, 동점은 오늘 순위 유지
+table.sort(rows, function(a, b)
+  if a[4] == b[4] then return a[6] < b[6] end
+  return a[4] > b[4]
+end)
+
+local out = { 0 }
+for i = 1, math.min(limit, #rows) do
+  local r = rows[i]
+  out[#out + 1] = r[1]
+  out[#out + 1] = tostring(r[2])
+  out[#out + 1] = tostring(r[3])
+  out[#out + 1] = tostring(r[4])
+  out[#out + 1] = r[5]
+end
+return out
@@ -0,0 +1,12 @@
+-- compact 레이아웃 중복 수집 차단: 일자별 샤드 해시에 64bit 지문 저장
+-- KEYS[1] = seen:d:{오늘}:{shard}, KEYS[2..n-1] = 이전 일자의 같은 샤드
+-- KEYS[n] = 레거시 seen:url:{sha256} (레이아웃 전환 전/마이그레이션 후에 기록된 키, 2일 TTL로 자연 소멸)
+-- ARGV = fingerprint, ttlSeconds
+-- 반환: 1 = 신규(오늘 해시에 기록), 0 = 이미 본 항목
+if redis.call('EXISTS', KEYS[#KEYS]) == 1 then return 0 end
+for i = 2, #KEYS - 1 do
+  if redis.call('HEXISTS', KEYS[i], ARGV[1]) == 1 then return 0 end
+end
+if redis.call('HSETNX', KEYS[1], ARGV[1], '1') == 0 then return 0 end
+if redis.call('TTL', KEYS[1]) < 0 then redis.call('EXPIRE', KEYS[1], ARGV[2]) end
+return 1
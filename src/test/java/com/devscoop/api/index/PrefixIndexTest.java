@@ -0,0 +1,85 @@
+package com.devscoop.api.index;
+
+import com.devscoop.api.index.PrefixIndex.Suggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefixIndexTest {
+
+    @Test
+    void suggestReturnsTopKByWeightWithinPrefix() {
+        PrefixIndex index = PrefixIndex.build(Map.of(
+                "spring", 50L,
+                "spring boot", 80L,
+                "springdoc", 5L,
+                "sql", 100L,
+                "rust", 70L), 10);
+
+        assertEquals(List.of(
+                        new Suggestion("spring boot", 80),
+                        new Suggestion("spring", 50)),
+                index.suggest("spr", 2));
+        assertEquals(List.of(new Suggestion("sql", 100)), index.suggest("SQ", 5));
+        assertTrue(index.suggest("go", 5).isEmpty());
+    }
+
+    @Test
+    void caseVariantsAreMergedUnderHeaviestSpelling() {
+        PrefixIndex index = PrefixIndex.build(Map.of("Kotlin", 30L, "kotlin", 10L, "KOTLIN", 5L), 5);
+
+        assertEquals(1, index.size());
+        assertEquals(List.of(new Suggestion("Kotlin", 45)), index.suggest("kot", 5));
+    }
+
+    @Test
+    void blankAndNullInputsAreIgnored() {
+        Map<String, Long> weighted = new HashMap<>();
+        weighted.put("  ", 10L);
+        weighted.put("java", null);
+        PrefixIndex index = PrefixIndex.build(weighted, 5);
+
+        assertEquals(List.of(new Suggestion("java", 0)), index.suggest("j", 5));
+        assertTrue(index.suggest(null, 5).isEmpty());
+        assertTrue(index.suggest("   ", 5).isEmpty());
+        assertTrue(index.suggest("j", 0).isEmpty());
+        assertTrue(PrefixIndex.empty().suggest("j", 5).isEmpty());
+    }
+
+    /** 사전 계산 구간(짧은 prefix, limit ≤ topK)과 이진 탐색 구간 모두 전수 정렬 결과와 같아야 함 */
+    @Test
+    void matchesBruteForceForShortAndLongPrefixes() {
+        Random random = new Random(42);
+        Map<String, Long> weighted = new HashMap<>();
+        for (int i = 0; i < 2000; i++) {
+            weighted.put(randomTerm(random), (long) random.nextInt(1000));
+        }
+        int topK = 8;
+        PrefixIndex index = PrefixIndex.build(weighted, topK);
+
+        for (String prefix : List.of("a", "b", "ab", "abc", "ba", "abca", "cab", "z")) {
+            for (int limit : List.of(1, topK, topK + 5)) {
+                List<Long> expected = weighted.entrySet().stream()
+                        .filter(e -> e.getKey().startsWith(prefix))
+                        .map(Map.Entry::getValue)
+                        .sorted(Comparator.reverseOrder())
+                        .limit(limit)
+                        .toList();
+                List<Suggestion> actual = index.suggest(prefix, limit);
+
+                assertEquals(expected, actual.stream().map(Suggestion::weight).toList(), prefix + "/" + limit);
+                actual.forEach(s -> assertTrue(s.keyword().startsWith(prefix), s.keyword()));
+            }
+        }
+    }
+
+    private static String randomTerm(Random random) {
+        int len = 1 + random.nextInt(6);
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; i++) sb.append((char) ('a' + random.nextInt(3)));
+        return sb.toString();
+    }
+}
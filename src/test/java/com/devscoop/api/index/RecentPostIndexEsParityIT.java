@@ -0,0 +1,131 @@
+package com.devscoop.api.index;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch._types.query_dsl.TextQueryType;
+import co.elastic.clients.elasticsearch.core.BulkRequest;
+import co.elastic.clients.elasticsearch.core.search.Hit;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.devscoop.api.codec.JsonCodec;
+import com.devscoop.api.dto.ArticleHit;
+import com.devscoop.api.service.FacetAnalyticsService;
+import com.devscoop.api.service.RawPostIndexService;
+import com.devscoop.api.service.RawPostIndices;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.ZoneId;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * 같은 글 집합에 대해 로컬 최근 글 역색인과 ES multi_match(phrase_prefix)가 같은 문서를 찾는지 확인.
+ * 토큰 규칙 차이(구두점 포함 토큰 등)가 없는 제목/키워드로 구성. Docker가 없으면 건너뜀.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RecentPostIndexEsParityIT {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    @Container
+    static final ElasticsearchContainer ES =
+            new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:8.15.0")
+                    .withEnv("xpack.security.enabled", "false");
+
+    static RestClient restClient;
+    static ElasticsearchClient esClient;
+
+    @BeforeAll
+    static void setUp() {
+        restClient = RestClient.builder(HttpHost.create(ES.getHttpHostAddress())).build();
+        esClient = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        restClient.close();
+    }
+
+    @Test
+    void phrasePrefixMatchesSameDocumentsAsElasticsearch() throws Exception {
+        new RawPostIndexService(esClient, new JsonCodec(new ObjectMapper()),
+                Mockito.mock(FacetAnalyticsService.class), Mockito.mock(KafkaListenerEndpointRegistry.class))
+                .bootstrap();
+
+        long now = System.currentTimeMillis();
+        List<ArticleHit> posts = List.of(
+                post("1", "hackernews", "Spring Boot 3 released", now - 60_000, "Spring Boot", "Java"),
+                post("2", "reddit", "Boot camp for Spring developers", now - 120_000, "Spring"),
+                post("3", "devto", "Why I left springfield", now - 180_000, "Kotlin"),
+                post("4", "hackernews", "Kotlin coroutines in depth", now - 240_000, "kotlin", "Coroutines"),
+                post("5", "reddit", "Rust async runtime comparison", now - 300_000, "Rust", "Tokio"),
+                post("6", "devto", "Java records and pattern matching", now - 360_000, "Java"));
+
+        RecentPostIndex local = new RecentPostIndex(KST, 3, 1000);
+        BulkRequest.Builder bulk = new BulkRequest.Builder().refresh(Refresh.True);
+        for (ArticleHit p : posts) {
+            local.add(p);
+            bulk.operations(op -> op.index(i -> i
+                    .index(RawPostIndices.WRITE_ALIAS)
+                    .id(p.id())
+                    .document(Map.of("source", p.source(), "title", p.title(), "url", p.url(),
+                            "createdAt", p.createdAt(), "keywords", p.keywords()))));
+        }
+        assertFalse(esClient.bulk(bulk.build()).errors());
+
+        for (String query : List.of("spring", "spring bo", "boot", "kot", "kotlin cor", "java rec",
+                "rust async r", "tok", "pattern", "camp for s", "nothing here")) {
+            for (String source : Arrays.asList(null, "reddit", "hackernews")) {
+                assertEquals(esIds(query, source), localIds(local, query, source), query + " @ " + source);
+            }
+        }
+    }
+
+    /** ArticleSearchService.buildQuery와 같은 질의 */
+    private static Set<String> esIds(String query, String source) throws Exception {
+        var response = esClient.search(s -> s
+                .index(RawPostIndices.READ_ALIAS)
+                .size(100)
+                .query(q -> q.bool(b -> {
+                    b.must(m -> m.multiMatch(mm -> mm
+                            .fields("title^2", "keywords.text", "keywords")
+                            .lenient(true)
+                            .type(TextQueryType.PhrasePrefix)
+                            .query(query)));
+                    if (source != null) b.filter(f -> f.term(t -> t.field("source").value(source)));
+                    return b;
+                })), Map.class);
+        Set<String> ids = new TreeSet<>();
+        for (Hit<Map> hit : response.hits().hits()) ids.add(hit.id());
+        return ids;
+    }
+
+    private static Set<String> localIds(RecentPostIndex local, String query, String source) {
+        Set<String> ids = new TreeSet<>();
+        local.search(query, source, null, null, 0, 100).hits().forEach(h -> ids.add(h.id()));
+        return ids;
+    }
+
+    private static ArticleHit post(String id, String source, String title, long createdAt, String... keywords) {
+        return ArticleHit.builder()
+                .id(id)
+                .source(source)
+                .title(title)
+                .url("https://example.com/" + id)
+                .createdAt(createdAt)
+                .keywords(List.of(keywords))
+                .build();
+    }
+}
@@ -0,0 +1,116 @@
+package com.devscoop.api.index;
+
+import com.devscoop.api.dto.ArticleHit;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecentPostIndexTest {
+
+    private static final ZoneId KST = ZoneId.of("Asia/Seoul");
+
+    private final RecentPostIndex index = new RecentPostIndex(KST, 3, 1000);
+
+    @Test
+    void phrasePrefixMatchesConsecutiveTokensWithPrefixOnLastToken() {
+        index.add(post("1", "hackernews", "Spring Boot 3 released", hoursAgo(1)));
+        index.add(post("2", "reddit", "Boot camp for Spring developers", hoursAgo(2)));
+        index.add(post("3", "devto", "Why I left springfield", hoursAgo(3), "Spring Boot"));
+
+        assertEquals(List.of("1", "3"), ids(index.search("spring bo", null, null, null, 0, 10)));
+        assertEquals(List.of("1", "2", "3"), ids(index.search("spring", null, null, null, 0, 10)));
+        assertEquals(List.of("2"), ids(index.search("camp f", null, null, null, 0, 10)));
+        // 순서가 다르면 불일치
+        assertTrue(ids(index.search("boot spring", null, null, null, 0, 10)).isEmpty());
+        assertTrue(ids(index.search("  ", null, null, null, 0, 10)).isEmpty());
+    }
+
+    @Test
+    void filtersBySourceAndCreatedAtRangeAndSortsNewestFirst() {
+        long t1 = hoursAgo(1), t2 = hoursAgo(2), t3 = hoursAgo(3);
+        index.add(post("a", "reddit", "kotlin coroutines", t3));
+        index.add(post("b", "hackernews", "kotlin flow", t1));
+        index.add(post("c", "reddit", "kotlin multiplatform", t2));
+
+        assertEquals(List.of("b", "c", "a"), ids(index.search("kotlin", "all", null, null, 0, 10)));
+        assertEquals(List.of("c", "a"), ids(index.search("kotlin", "reddit", null, null, 0, 10)));
+        // [from, to)
+        assertEquals(List.of("c"), ids(index.search("kotlin", null, t2, t1, 0, 10)));
+
+        RecentPostIndex.Result page = index.search("kotlin", null, null, null, 1, 1);
+        assertEquals(3, page.total());
+        assertEquals(List.of("c"), ids(page));
+    }
+
+    @Test
+    void rejectsDuplicatesMissingCreatedAtAndPostsOutsideWindow() {
+        assertTrue(index.add(post("x", "reddit", "java records", hoursAgo(1))));
+        assertFalse(index.add(post("x", "reddit", "java records", hoursAgo(5))));
+        assertFalse(index.add(post("y", "reddit", "java streams", null)));
+        assertFalse(index.add(post("z", "reddit", "java modules", daysAgo(10))));
+
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void coversOnlyFromMarkedDayInsideWindow() {
+        assertFalse(index.covers(hoursAgo(1)));
+
+        LocalDate today = LocalDate.now(KST);
+        index.markCoveredFrom(today.minusDays(1));
+
+        assertTrue(index.covers(today.atStartOfDay(KST).toInstant().toEpochMilli()));
+        assertTrue(index.covers(today.minusDays(1).atStartOfDay(KST).toInstant().toEpochMilli()));
+        assertFalse(index.covers(today.minusDays(2).atStartOfDay(KST).toInstant().toEpochMilli()));
+        assertFalse(index.covers(null));
+    }
+
+    @Test
+    void evictDropsOldestDaysBeyondDocLimitAndShrinksCoverage() {
+        RecentPostIndex small = new RecentPostIndex(KST, 3, 2);
+        LocalDate today = LocalDate.now(KST);
+        small.markCoveredFrom(today.minusDays(2));
+        small.add(post("old", "reddit", "rust async", startOfDay(today.minusDays(2)) + 1000));
+        small.add(post("mid", "reddit", "rust traits", startOfDay(today.minusDays(1)) + 1000));
+        small.add(post("new", "reddit", "rust macros", startOfDay(today) + 1000));
+
+        small.evict();
+
+        assertEquals(2, small.size());
+        assertEquals(List.of("new", "mid"), ids(small.search("rust", null, null, null, 0, 10)));
+        assertFalse(small.covers(startOfDay(today.minusDays(2))));
+        assertTrue(small.covers(startOfDay(today.minusDays(1))));
+    }
+
+    private static ArticleHit post(String id, String source, String title, Long createdAt, String... keywords) {
+        return ArticleHit.builder()
+                .id(id)
+                .source(source)
+                .title(title)
+                .url("https://example.com/" + id)
+                .createdAt(createdAt)
+                .keywords(List.of(keywords))
+                .build();
+    }
+
+    private static List<String> ids(RecentPostIndex.Result result) {
+        return result.hits().stream().map(ArticleHit::id).toList();
+    }
+
+    private static long hoursAgo(int hours) {
+        return ZonedDateTime.now(KST).minusHours(hours).toInstant().toEpochMilli();
+    }
+
+    private static long daysAgo(int days) {
+        return ZonedDateTime.now(KST).minusDays(days).toInstant().toEpochMilli();
+    }
+
+    private static long startOfDay(LocalDate day) {
+        return day.atStartOfDay(KST).toInstant().toEpochMilli();
+    }
+}
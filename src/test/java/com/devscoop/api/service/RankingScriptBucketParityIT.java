@@ -0,0 +1,70 @@
+package com.devscoop.api.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * compact 레이아웃에서 Java(RedisKeySchema)가 쓴 버킷을 ranking.lua가 같은 버킷에서 찾는지 확인.
+ * 버킷 해시가 어긋나면 스크립트가 해당 키워드를 "통계 없음"으로 돌려준다. Docker가 없으면 건너뜀.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RankingScriptBucketParityIT {
+
+    @Container
+    static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    static LettuceConnectionFactory connectionFactory;
+    static StringRedisTemplate redis;
+
+    @BeforeAll
+    static void setUp() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void tearDown() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void scriptFindsStatsInJavaComputedBuckets() {
+        RedisKeySchema schema = new RedisKeySchema("compact", 512, 64);
+        List<String> keywords = List.of("spring", "Spring Boot", "kotlin", "c++", "node.js",
+                "쿠버네티스", "자바", "rust-lang", "LLM", "a");
+        long expireAt = System.currentTimeMillis() / 1000 + 3600;
+        String countKey = "keyword_count:test:today";
+        for (int i = 0; i < keywords.size(); i++) {
+            String kw = keywords.get(i);
+            redis.opsForZSet().add(countKey, kw, 10 + i);
+            redis.opsForHash().put(schema.statsBucketKey("test", kw), kw,
+                    RedisKeySchema.packStat(2.0, 1.0, 7, expireAt));
+        }
+
+        DefaultRedisScript<List> script = new DefaultRedisScript<>();
+        script.setLocation(new ClassPathResource("scripts/ranking.lua"));
+        script.setResultType(List.class);
+        List<Object> rows = redis.execute(script, List.of(countKey, "keyword_count:test:yesterday"),
+                RedisKeySchema.STATS_PREFIX + "test:", "40", "20", "1.0", "1.0E-6", "5.0", "3.0", "1.5",
+                String.valueOf(schema.statsBuckets()), String.valueOf(System.currentTimeMillis() / 1000),
+                "keyword_online:test", "3", "1.0", "1");
+
+        // 첫 값 = 통계를 못 찾은 키워드 수
+        assertEquals(0L, rows.get(0), "missing: " + rows);
+        assertEquals(1 + keywords.size() * 5, rows.size());
+    }
+}
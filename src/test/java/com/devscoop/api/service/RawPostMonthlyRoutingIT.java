@@ -0,0 +1,77 @@
+package com.devscoop.api.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch._types.Refresh;
+import co.elastic.clients.elasticsearch.core.GetResponse;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import co.elastic.clients.transport.rest_client.RestClientTransport;
+import com.devscoop.api.codec.JsonCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.http.HttpHost;
+import org.elasticsearch.client.RestClient;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 실제 ES에서 bootstrap 후 쓰기 alias로 넣은 과거 createdAt 문서가 그 달 인덱스에 들어가는지 확인
+ * (파이프라인 재라우팅 + 월 인덱스 자동 생성 + 템플릿 적용). Docker가 없으면 건너뜀.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RawPostMonthlyRoutingIT {
+
+    @Container
+    static final ElasticsearchContainer ES =
+            new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:8.15.0")
+                    .withEnv("xpack.security.enabled", "false");
+
+    static RestClient restClient;
+    static ElasticsearchClient esClient;
+
+    @BeforeAll
+    static void setUp() {
+        restClient = RestClient.builder(HttpHost.create(ES.getHttpHostAddress())).build();
+        esClient = new ElasticsearchClient(new RestClientTransport(restClient, new JacksonJsonpMapper()));
+    }
+
+    @AfterAll
+    static void tearDown() throws Exception {
+        restClient.close();
+    }
+
+    @Test
+    void oldPostLandsInItsMonthIndex() throws Exception {
+        RawPostIndexService indexService = new RawPostIndexService(esClient, new JsonCodec(new ObjectMapper()),
+                Mockito.mock(FacetAnalyticsService.class), Mockito.mock(KafkaListenerEndpointRegistry.class));
+        indexService.bootstrap();
+        assertTrue(indexService.isBootstrapped());
+
+        long createdAt = Instant.parse("2023-01-15T12:00:00Z").toEpochMilli();
+        esClient.index(i -> i
+                .index(RawPostIndices.WRITE_ALIAS)
+                .id("old-post")
+                .document(Map.of("source", "hackernews", "title", "old post",
+                        "url", "https://example.com/old", "createdAt", createdAt))
+                .refresh(Refresh.True));
+
+        GetResponse<Map> doc = esClient.get(g -> g.index("raw-posts-2023.01").id("old-post"), Map.class);
+        assertTrue(doc.found());
+        // 쓰기 alias는 구체 인덱스로 바뀌지 않았고, 이번 달 인덱스엔 없음
+        assertTrue(esClient.indices().existsAlias(e -> e.name(RawPostIndices.WRITE_ALIAS)).value());
+        String current = RawPostIndices.monthly(YearMonth.now(ZoneOffset.UTC));
+        assertFalse(esClient.get(g -> g.index(current).id("old-post"), Map.class).found());
+    }
+}
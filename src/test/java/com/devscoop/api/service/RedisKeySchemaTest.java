@@ -0,0 +1,41 @@
+package com.devscoop.api.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisKeySchemaTest {
+
+    private final RedisKeySchema compact = new RedisKeySchema("compact", 512, 64);
+
+    @Test
+    void bucketHashIsRollingBase31OverUtf8Bytes() {
+        assertEquals(97, RedisKeySchema.bucketOf("a", 512));
+        assertEquals((97 * 31 + 98) % 512, RedisKeySchema.bucketOf("ab", 512));
+        // 멀티바이트 문자는 UTF-8 바이트 단위 (Lua string.byte와 동일)
+        int h = 0;
+        for (int b : new int[]{0xEC, 0x9E, 0x90}) h = (h * 31 + b) % 1_000_003;
+        assertEquals(h % 512, RedisKeySchema.bucketOf("자", 512));
+    }
+
+    @Test
+    void statsBucketKeyStaysInRange() {
+        for (String kw : new String[]{"spring", "Spring Boot", "쿠버네티스", "c++", ""}) {
+            int bucket = compact.statsBucketOf(kw);
+            assertTrue(bucket >= 0 && bucket < 512, kw);
+            assertEquals(RedisKeySchema.STATS_PREFIX + "reddit:" + bucket, compact.statsBucketKey("reddit", kw));
+        }
+        assertTrue(compact.compact());
+        assertFalse(new RedisKeySchema("legacy", 512, 64).compact());
+    }
+
+    @Test
+    void packedStatRoundTripsAndRejectsMalformedValues() {
+        double[] v = RedisKeySchema.unpackStat(RedisKeySchema.packStat(12.5, 3.25, 7, 1_700_000_000L));
+        assertArrayEquals(new double[]{12.5, 3.25, 7, 1_700_000_000L}, v);
+
+        assertNull(RedisKeySchema.unpackStat(null));
+        assertNull(RedisKeySchema.unpackStat("1.0:2.0:3"));
+        assertNull(RedisKeySchema.unpackStat("a:b:c:d"));
+    }
+}
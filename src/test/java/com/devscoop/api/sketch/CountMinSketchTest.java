@@ -0,0 +1,72 @@
+package com.devscoop.api.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimatesNeverUndercountAndStayWithinErrorBoundWithHighProbability() {
+        CountMinSketch cms = new CountMinSketch(200, 5);
+        Map<String, Long> truth = zipfStream(new Random(7), 50_000, 5_000, cms);
+
+        long bound = cms.errorBound();
+        assertEquals((long) Math.ceil(Math.E / 200 * 50_000), bound);
+
+        int violations = 0;
+        for (var e : truth.entrySet()) {
+            long est = cms.estimate(e.getKey());
+            assertTrue(est >= e.getValue(), e.getKey());
+            if (est - e.getValue() > bound) violations++;
+        }
+        // 실패 확률 e^-depth ≈ 0.7% → 여유를 두고 2% 이하
+        assertTrue(violations <= truth.size() * 0.02, "violations=" + violations);
+    }
+
+    @Test
+    void mergeEqualsSketchOfCombinedStream() {
+        CountMinSketch a = new CountMinSketch(64, 4);
+        CountMinSketch b = new CountMinSketch(64, 4);
+        CountMinSketch combined = new CountMinSketch(64, 4);
+        Random random = new Random(1);
+        for (int i = 0; i < 5_000; i++) {
+            String item = "kw" + random.nextInt(300);
+            (i % 2 == 0 ? a : b).add(item, 1);
+            combined.add(item, 1);
+        }
+
+        a.merge(b);
+
+        assertEquals(combined.total(), a.total());
+        for (int i = 0; i < 300; i++) assertEquals(combined.estimate("kw" + i), a.estimate("kw" + i));
+        assertThrows(IllegalArgumentException.class, () -> a.merge(new CountMinSketch(32, 4)));
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        CountMinSketch cms = new CountMinSketch(16, 3);
+        cms.add("spring", 5);
+        cms.add("스프링", 2);
+
+        CountMinSketch copy = CountMinSketch.fromBytes(ByteBuffer.wrap(cms.toBytes()));
+
+        assertEquals(cms.total(), copy.total());
+        assertEquals(cms.estimate("spring"), copy.estimate("spring"));
+        assertEquals(cms.estimate("스프링"), copy.estimate("스프링"));
+    }
+
+    private static Map<String, Long> zipfStream(Random random, int n, int distinct, CountMinSketch sketch) {
+        Map<String, Long> truth = new HashMap<>();
+        for (String item : ZipfStream.generate(random, n, distinct)) {
+            sketch.add(item, 1);
+            truth.merge(item, 1L, Long::sum);
+        }
+        return truth;
+    }
+}
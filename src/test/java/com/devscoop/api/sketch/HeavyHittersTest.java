@@ -0,0 +1,49 @@
+package com.devscoop.api.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HeavyHittersTest {
+
+    @Test
+    void estimatesOverCountByAtMostReportedErrorBound() {
+        HeavyHitters hh = new HeavyHitters(256, 4, 64);
+        Map<String, Long> truth = new HashMap<>();
+        for (String item : ZipfStream.generate(new Random(5), 40_000, 3_000)) {
+            hh.offer(item);
+            truth.merge(item, 1L, Long::sum);
+        }
+
+        List<HeavyHitters.Estimate> top = hh.top(10);
+        assertEquals(10, top.size());
+        assertEquals("kw0", top.get(0).item());
+        for (int i = 0; i < top.size(); i++) {
+            HeavyHitters.Estimate e = top.get(i);
+            long actual = truth.get(e.item());
+            assertTrue(e.count() >= actual, e.toString());
+            assertTrue(e.count() - actual <= e.errorBound(), e.toString());
+            if (i > 0) assertTrue(top.get(i - 1).count() >= e.count());
+        }
+        assertEquals(40_000, hh.total());
+    }
+
+    @Test
+    void mergeCombinesTotalsAndCounts() {
+        HeavyHitters a = new HeavyHitters(64, 4, 16);
+        HeavyHitters b = new HeavyHitters(64, 4, 16);
+        for (int i = 0; i < 30; i++) a.offer("java");
+        for (int i = 0; i < 20; i++) b.offer("java");
+        b.offer("rust");
+
+        a.merge(b);
+
+        assertEquals(51, a.total());
+        assertEquals(new HeavyHitters.Estimate("java", 50, 0), a.top(1).get(0));
+    }
+}
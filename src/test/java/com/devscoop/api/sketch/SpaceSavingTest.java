@@ -0,0 +1,87 @@
+package com.devscoop.api.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpaceSavingTest {
+
+    @Test
+    void countersBracketTrueFrequencyAndKeepFrequentItems() {
+        int capacity = 100;
+        SpaceSaving ss = new SpaceSaving(capacity);
+        Map<String, Long> truth = stream(new Random(3), 30_000, 2_000, ss);
+
+        assertBounds(ss.top(capacity), truth);
+        // 실제 빈도 > N/capacity 인 항목은 반드시 남아 있음
+        Set<String> kept = ss.top(capacity).stream().map(SpaceSaving.Counter::item).collect(Collectors.toSet());
+        truth.forEach((item, count) -> {
+            if (count > 30_000 / capacity) assertTrue(kept.contains(item), item);
+        });
+    }
+
+    @Test
+    void topIsSortedByCountDescending() {
+        SpaceSaving ss = new SpaceSaving(3);
+        ss.offer("a", 5);
+        ss.offer("b", 9);
+        ss.offer("c", 1);
+        ss.offer("d", 2); // c(1) 대체 → d: count 3, error 1
+
+        List<SpaceSaving.Counter> top = ss.top(3);
+        assertEquals(List.of("b", "a", "d"), top.stream().map(SpaceSaving.Counter::item).toList());
+        assertEquals(new SpaceSaving.Counter("d", 3, 1), top.get(2));
+    }
+
+    @Test
+    void mergedSummaryKeepsBounds() {
+        SpaceSaving a = new SpaceSaving(50);
+        SpaceSaving b = new SpaceSaving(50);
+        Map<String, Long> truth = new HashMap<>();
+        stream(new Random(11), 10_000, 500, a).forEach((k, v) -> truth.merge(k, v, Long::sum));
+        stream(new Random(12), 10_000, 500, b).forEach((k, v) -> truth.merge(k, v, Long::sum));
+
+        a.merge(b);
+
+        List<SpaceSaving.Counter> top = a.top(50);
+        assertEquals(50, top.size());
+        assertBounds(top, truth);
+    }
+
+    @Test
+    void bytesRoundTrip() {
+        SpaceSaving ss = new SpaceSaving(2);
+        ss.offer("rust", 4);
+        ss.offer("자바", 2);
+        ss.offer("go", 1);
+
+        SpaceSaving copy = SpaceSaving.fromBytes(ByteBuffer.wrap(ss.toBytes()));
+
+        assertEquals(ss.top(2), copy.top(2));
+    }
+
+    private static void assertBounds(List<SpaceSaving.Counter> counters, Map<String, Long> truth) {
+        for (SpaceSaving.Counter c : counters) {
+            long actual = truth.getOrDefault(c.item(), 0L);
+            assertTrue(c.count() - c.error() <= actual, c.toString());
+            assertTrue(actual <= c.count(), c.toString());
+        }
+    }
+
+    private static Map<String, Long> stream(Random random, int n, int distinct, SpaceSaving ss) {
+        Map<String, Long> truth = new HashMap<>();
+        for (String item : ZipfStream.generate(random, n, distinct)) {
+            ss.offer(item, 1);
+            truth.merge(item, 1L, Long::sum);
+        }
+        return truth;
+    }
+}
@@ -0,0 +1,30 @@
+package com.devscoop.api.sketch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/** 테스트용 스트림: 순위 r(0부터)의 빈도 ∝ 1/(r+1), 항목 이름은 "kw{r}" */
+final class ZipfStream {
+
+    private ZipfStream() {
+    }
+
+    static List<String> generate(Random random, int n, int distinct) {
+        double[] cdf = new double[distinct];
+        double sum = 0;
+        for (int r = 0; r < distinct; r++) cdf[r] = sum += 1.0 / (r + 1);
+        List<String> out = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            double u = random.nextDouble() * sum;
+            int lo = 0, hi = distinct - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cdf[mid] < u) lo = mid + 1;
+                else hi = mid;
+            }
+            out.add("kw" + lo);
+        }
+        return out;
+    }
+}